@@ -0,0 +1,188 @@
+package se.mickelus.tetra.benchmark;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import net.minecraft.SharedConstants;
+import net.minecraft.advancements.critereon.ItemPredicate;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.ItemStack;
+import se.mickelus.tetra.ConfigHandler;
+import se.mickelus.tetra.LooseItemPredicate;
+import se.mickelus.tetra.TetraMod;
+import se.mickelus.tetra.craftingeffect.CraftingEffectRegistry;
+import se.mickelus.tetra.data.DataManager;
+import se.mickelus.tetra.items.modular.IModularItem;
+import se.mickelus.tetra.items.modular.ItemDataCache;
+import se.mickelus.tetra.items.modular.ItemPredicateModular;
+import se.mickelus.tetra.items.modular.MaterialItemPredicate;
+import se.mickelus.tetra.items.modular.impl.ModularBladedItem;
+import se.mickelus.tetra.items.modular.impl.ModularDoubleHeadedItem;
+import se.mickelus.tetra.items.modular.impl.bow.ModularBowItem;
+import se.mickelus.tetra.items.modular.impl.crossbow.ModularCrossbowItem;
+import se.mickelus.tetra.items.modular.impl.toolbelt.ModularToolbeltItem;
+import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltModule;
+import se.mickelus.tetra.module.*;
+import se.mickelus.tetra.util.TierHelper;
+import se.mickelus.tetra.util.ToolActionHelper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Sets up just enough of the mod to derive data for modular items outside of a running game: vanilla bootstrap, default config values,
+ * the registries and modular items, and data loaded from a data pack directory through the same path used when data is synced to clients.
+ * The data pack defaults to the data bundled with the mod and can be overridden through the "tetra.benchmark.data" system property, which
+ * should point at a "data/tetra" directory.
+ */
+public class BenchmarkFixture {
+    private static final String[] directories = {"tiers", "tweaks", "materials", "improvements", "modules", "enchantments", "synergies"};
+
+    private static boolean initialized = false;
+
+    // item holders are not populated outside of the game, so keep our own references
+    private static ModularBladedItem swordItem;
+    private static ModularDoubleHeadedItem doubleItem;
+    private static ModularBowItem bowItem;
+    private static ModularCrossbowItem crossbowItem;
+    private static ModularToolbeltItem toolbeltItem;
+
+    public static synchronized void setup() {
+        if (initialized) {
+            return;
+        }
+
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        ToolActionHelper.init();
+        TierHelper.init();
+
+        ConfigHandler.spec.setConfig(CommentedConfig.inMemory());
+
+        ItemPredicate.register(new ResourceLocation("tetra:modular_item"), ItemPredicateModular::new);
+        ItemPredicate.register(new ResourceLocation("tetra:material"), MaterialItemPredicate::new);
+        ItemPredicate.register(new ResourceLocation("tetra:loose"), LooseItemPredicate::new);
+
+        new DataManager();
+        new CraftingEffectRegistry();
+        new RepairRegistry();
+        new SchematicRegistry();
+        new ItemUpgradeRegistry();
+
+        ModuleRegistry moduleRegistry = new ModuleRegistry();
+        moduleRegistry.registerModuleType(new ResourceLocation(TetraMod.MOD_ID, "basic_module"), BasicModule::new);
+        moduleRegistry.registerModuleType(new ResourceLocation(TetraMod.MOD_ID, "multi_module"), MultiSlotModule::new);
+        moduleRegistry.registerModuleType(new ResourceLocation(TetraMod.MOD_ID, "basic_major_module"), BasicMajorModule::new);
+        moduleRegistry.registerModuleType(new ResourceLocation(TetraMod.MOD_ID, "multi_major_module"), MultiSlotMajorModule::new);
+        moduleRegistry.registerModuleType(new ResourceLocation(TetraMod.MOD_ID, "toolbelt_module"), ToolbeltModule::new);
+
+        new ItemDataCache();
+
+        // toolbelt init registers packets, it's not needed as toolbelts have no synergies
+        swordItem = new ModularBladedItem();
+        doubleItem = new ModularDoubleHeadedItem();
+        bowItem = new ModularBowItem();
+        crossbowItem = new ModularCrossbowItem();
+        toolbeltItem = new ModularToolbeltItem();
+
+        swordItem.init(null);
+        doubleItem.init(null);
+        bowItem.init(null);
+        crossbowItem.init(null);
+
+        Path dataPath = Paths.get(System.getProperty("tetra.benchmark.data", "src/main/resources/data/tetra"));
+        for (String directory : directories) {
+            DataManager.instance.onDataRecieved(directory, readDirectory(dataPath.resolve(directory)));
+        }
+
+        initialized = true;
+    }
+
+    private static Map<ResourceLocation, String> readDirectory(Path directory) {
+        Map<ResourceLocation, String> result = new HashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return result;
+        }
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(path -> path.toString().endsWith(".json"))
+                    .forEach(path -> {
+                        String name = directory.relativize(path).toString().replace('\\', '/');
+                        name = name.substring(0, name.length() - ".json".length());
+                        try {
+                            result.put(new ResourceLocation(TetraMod.MOD_ID, name), Files.readString(path));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates a representative itemstack for the given kind of modular item, the modules match those of the replacements for the
+     * corresponding vanilla items (plus a few slots for the toolbelt).
+     *
+     * @param kind one of sword, double, bow, crossbow or toolbelt
+     */
+    public static ItemStack createStack(String kind) {
+        ItemStack itemStack;
+        switch (kind) {
+            case "sword":
+                itemStack = new ItemStack(swordItem);
+                addModule(itemStack, "sword/basic_blade", "basic_blade/iron");
+                addModule(itemStack, "sword/basic_hilt", "basic_hilt/stick");
+                addModule(itemStack, "sword/decorative_pommel", "decorative_pommel/iron");
+                addModule(itemStack, "sword/makeshift_guard", "makeshift_guard/iron");
+                break;
+            case "double":
+                itemStack = new ItemStack(doubleItem);
+                addModule(itemStack, "double/basic_pickaxe_left", "basic_pickaxe/iron");
+                addModule(itemStack, "double/basic_pickaxe_right", "basic_pickaxe/iron");
+                addModule(itemStack, "double/basic_handle", "basic_handle/stick");
+                break;
+            case "bow":
+                itemStack = new ItemStack(bowItem);
+                addModule(itemStack, "bow/straight_stave", "straight_stave/stick");
+                addModule(itemStack, "bow/basic_string", "basic_string/string");
+                break;
+            case "crossbow":
+                itemStack = new ItemStack(crossbowItem);
+                addModule(itemStack, "crossbow/basic_stave", "basic_stave/stick");
+                addModule(itemStack, "crossbow/basic_stock", "basic_stock/stick");
+                addModule(itemStack, "crossbow/basic_string", "basic_string/string");
+                addModule(itemStack, "crossbow/stirrup", "stirrup/iron");
+                break;
+            case "toolbelt":
+                itemStack = new ItemStack(toolbeltItem);
+                addModule(itemStack, "toolbelt/belt", "belt/rope");
+                addModule(itemStack, "toolbelt/strap_slot1", "strap1/leather");
+                addModule(itemStack, "toolbelt/quiver_slot2", "quiver/leather");
+                addModule(itemStack, "toolbelt/storage_slot3", "storage/leather");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown item kind: " + kind);
+        }
+
+        IModularItem.updateIdentifier(itemStack);
+        return itemStack;
+    }
+
+    private static void addModule(ItemStack itemStack, String moduleKey, String variantKey) {
+        ItemModule module = ItemUpgradeRegistry.instance.getModule(moduleKey);
+        if (module == null) {
+            throw new IllegalStateException("Missing module in benchmark data: " + moduleKey);
+        }
+
+        module.addModule(itemStack, variantKey, null);
+    }
+}
@@ -0,0 +1,122 @@
+package se.mickelus.tetra.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+import net.minecraft.world.entity.ai.attributes.Attribute;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier;
+import net.minecraft.world.item.ItemStack;
+import org.openjdk.jmh.annotations.*;
+import se.mickelus.tetra.items.modular.IModularItem;
+import se.mickelus.tetra.items.modular.ItemDataCache;
+import se.mickelus.tetra.items.modular.ModularItem;
+import se.mickelus.tetra.module.data.EffectData;
+import se.mickelus.tetra.module.data.ItemProperties;
+import se.mickelus.tetra.module.data.ModuleModel;
+import se.mickelus.tetra.module.data.ToolData;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the data derived from the modules of modular items. With the "cold" state each benchmark clears the shared item data
+ * cache before the call, so each call derives everything from the modules, with the "cached" state the cache is left populated between
+ * calls. The cache is cleared within the benchmark methods rather than in a per invocation setup, as the timestamping of per invocation
+ * setups would dominate these sub-microsecond calls. The cost of clearing the cache is measured on its own by {@link #invalidateBaseline()}
+ * and should be subtracted from the cold results.
+ * <p>
+ * Run through gradle, e.g. "gradlew jmh -PjmhArgs='-prof gc'" to also get allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModularItemBenchmark {
+
+    @Param({"sword", "double", "bow", "crossbow", "toolbelt"})
+    public String kind;
+
+    @Param({"cold", "cached"})
+    public String cache;
+
+    private ItemStack itemStack;
+    private IModularItem item;
+    private boolean cold;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        BenchmarkFixture.setup();
+
+        itemStack = BenchmarkFixture.createStack(kind);
+        item = (IModularItem) itemStack.getItem();
+        cold = "cold".equals(cache);
+    }
+
+    private void prepare() {
+        if (cold) {
+            ItemDataCache.instance.invalidateAll();
+        }
+    }
+
+    /**
+     * Baseline for the cold state, measures only the clearing of the cache that precedes each call in the other benchmarks.
+     */
+    @Benchmark
+    public void invalidateBaseline() {
+        prepare();
+    }
+
+    @Benchmark
+    public ItemProperties getProperties() {
+        prepare();
+        return item.getProperties(itemStack);
+    }
+
+    @Benchmark
+    public ItemProperties getPropertiesCached() {
+        prepare();
+        return item.getPropertiesCached(itemStack);
+    }
+
+    @Benchmark
+    public EffectData getEffectData() {
+        prepare();
+        return item.getEffectData(itemStack);
+    }
+
+    @Benchmark
+    public EffectData getEffectDataCached() {
+        prepare();
+        return item.getEffectDataCached(itemStack);
+    }
+
+    @Benchmark
+    public Multimap<Attribute, AttributeModifier> getAttributeModifiersCollapsed() {
+        prepare();
+        return item.getAttributeModifiersCollapsed(itemStack);
+    }
+
+    @Benchmark
+    public Multimap<Attribute, AttributeModifier> getAttributeModifiersCached() {
+        prepare();
+        return item.getAttributeModifiersCached(itemStack);
+    }
+
+    @Benchmark
+    public ToolData getToolData() {
+        prepare();
+        return ((ModularItem) item).getToolData(itemStack);
+    }
+
+    @Benchmark
+    public String getItemName() {
+        prepare();
+        return item.getItemName(itemStack);
+    }
+
+    @Benchmark
+    public ImmutableList<ModuleModel> getModels() {
+        prepare();
+        return item.getModels(itemStack, null);
+    }
+}
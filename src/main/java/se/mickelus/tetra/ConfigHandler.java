@@ -66,10 +66,17 @@ public class ConfigHandler {
     public static ForgeConfigSpec.BooleanValue enableStonecutter;
 
     public static ForgeConfigSpec.BooleanValue enableExtractor;
+    public static ForgeConfigSpec.IntValue extractorCarveBudget;
 
     public static ForgeConfigSpec.BooleanValue enableLookTrigger;
     public static ForgeConfigSpec.BooleanValue enableReach;
 
+    public static ForgeConfigSpec.IntValue itemDataCacheSize;
+    public static ForgeConfigSpec.IntValue scheduledTaskBudget;
+
+    public static ForgeConfigSpec.BooleanValue itemModelMeshing;
+    public static ForgeConfigSpec.BooleanValue asyncModelBaking;
+
     static {
         // misc config
         builder.push("misc");
@@ -116,6 +123,22 @@ public class ConfigHandler {
                 .worldRestart()
                 .define("entity_reach", true);
 
+        itemDataCacheSize = builder
+                .comment("The number of modular item configurations that have their derived data (attributes, effects, tools etc.) cached, "
+                        + "servers with many players holding distinct modular items may benefit from increasing this")
+                .worldRestart()
+                .defineInRange("item_data_cache_size", 4000, 100, Integer.MAX_VALUE);
+
+        scheduledTaskBudget = builder
+                .comment("The maximum number of delayed tasks (e.g. blocks broken by area of effect abilities) that are run per tick, tasks beyond the "
+                        + "budget are pushed to the next tick. Set to 0 to run all due tasks each tick")
+                .defineInRange("scheduled_task_budget", 0, 0, Integer.MAX_VALUE);
+
+        itemModelMeshing = builder
+                .comment("Only generate the sides of modular item models where opaque pixels border transparent ones, merging adjacent sides into "
+                        + "larger quads. Disable if modular items render with gaps in their edges")
+                .define("item_model_meshing", true);
+
         builder.pop();
 
         // worldgen config
@@ -224,11 +247,21 @@ public class ConfigHandler {
                 .worldRestart()
                 .define("extractor", true);
 
+        extractorCarveBudget = builder
+                .comment("The maximum number of blocks that fractured bedrock may carve out per tick across the whole server, carving is spread out "
+                        + "over more ticks when many extractors are active at once")
+                .defineInRange("extractor_carve_budget", 16, 1, 1024);
+
         enableCrossbow = builder
                 .comment("Enable modular crossbows")
                 .worldRestart()
                 .define("crossbow", true);
 
+        asyncModelBaking = builder
+                .comment("Bake models for modular items on a background thread rather than while rendering, removes stutter when many new item "
+                        + "configurations are shown at once but items may briefly render with their previous model (or not at all) while baking")
+                .define("async_model_baking", false);
+
         builder.pop();
 
         spec = builder.build();
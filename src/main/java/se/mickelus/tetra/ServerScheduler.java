@@ -1,56 +1,60 @@
 package se.mickelus.tetra;
 
-import com.google.common.collect.Queues;
-import net.minecraft.server.TickTask;
+import net.minecraft.world.level.LevelAccessor;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.Iterator;
-import java.util.Queue;
 
 @ParametersAreNonnullByDefault
 public class ServerScheduler {
-    private static final Queue<Task> queue = Queues.newConcurrentLinkedQueue();
-    private static int counter;
+    private static final TickScheduler scheduler = new TickScheduler();
 
     public static void schedule(int delay, Runnable task) {
-        queue.add(new Task(counter + delay, task));
+        scheduler.schedule(null, delay, task);
     }
 
     public static void schedule(String id, int delay, Runnable task) {
-        queue.removeIf(t -> id.equals(t.id));
-        queue.add(new Task(id, counter + delay, task));
+        scheduler.schedule(id, null, delay, task);
     }
 
-    @SubscribeEvent
-    public static void onServerTick(TickEvent.ServerTickEvent event) {
-        if (event.phase != TickEvent.Phase.END) {
-            return;
-        }
+    /**
+     * Schedules a task that is dropped if the given level is unloaded before the task is due.
+     */
+    public static void schedule(LevelAccessor level, int delay, Runnable task) {
+        scheduler.schedule(level, delay, task);
+    }
 
-        for (Iterator<Task> it = queue.iterator(); it.hasNext(); ) {
-            Task task = it.next();
-            if (task.getTick() < counter) {
-                task.run();
-                it.remove();
-            }
-        }
+    public static void schedule(String id, LevelAccessor level, int delay, Runnable task) {
+        scheduler.schedule(id, level, delay, task);
+    }
 
-        counter++;
+    public static long getQueuedCount() {
+        return scheduler.getQueuedCount();
     }
 
-    static class Task extends TickTask {
-        private String id;
+    public static long getExecutedCount() {
+        return scheduler.getExecutedCount();
+    }
 
-        public Task(int timestamp, Runnable task) {
-            super(timestamp, task);
+    public static long getOverrunCount() {
+        return scheduler.getOverrunCount();
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
+            return;
         }
 
-        public Task(String id, int timestamp, Runnable task) {
-            this(timestamp, task);
+        scheduler.tick(ConfigHandler.scheduledTaskBudget.get());
+    }
 
-            this.id = id;
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        if (!event.getWorld().isClientSide()) {
+            scheduler.dropLevel(event.getWorld());
         }
     }
 }
@@ -66,6 +66,8 @@ import se.mickelus.tetra.craftingeffect.outcome.ApplyImprovementOutcome;
 import se.mickelus.tetra.craftingeffect.outcome.MaterialReductionOutcome;
 import se.mickelus.tetra.craftingeffect.outcome.RemoveImprovementOutcome;
 import se.mickelus.tetra.data.DataManager;
+import se.mickelus.tetra.data.DataOfferPacket;
+import se.mickelus.tetra.data.DataRequestPacket;
 import se.mickelus.tetra.data.UpdateDataPacket;
 import se.mickelus.tetra.effect.ItemEffectHandler;
 import se.mickelus.tetra.effect.LungeEchoPacket;
@@ -95,6 +97,7 @@ import se.mickelus.tetra.items.modular.impl.shield.ModularShieldRenderer;
 import se.mickelus.tetra.items.modular.impl.toolbelt.ModularToolbeltItem;
 import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltContainer;
 import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltModule;
+import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.ToolbeltInventories;
 import se.mickelus.tetra.items.modular.impl.toolbelt.suspend.SuspendPotionEffect;
 import se.mickelus.tetra.loot.FortuneBonusCondition;
 import se.mickelus.tetra.loot.ReplaceTableModifier;
@@ -105,6 +108,7 @@ import se.mickelus.tetra.module.improvement.HonePacket;
 import se.mickelus.tetra.module.improvement.SettlePacket;
 import se.mickelus.tetra.module.schematic.BookEnchantSchematic;
 import se.mickelus.tetra.module.schematic.CleanseSchematic;
+import se.mickelus.tetra.properties.PlayerPropertyIndex;
 import se.mickelus.tetra.properties.TetraAttributes;
 import se.mickelus.tetra.proxy.ClientProxy;
 import se.mickelus.tetra.proxy.IProxy;
@@ -133,6 +137,7 @@ public class TetraMod {
     public TetraMod() {
         FMLJavaModLoadingContext.get().getModEventBus().addListener(this::setup);
         FMLJavaModLoadingContext.get().getModEventBus().addListener(CuriosCompat::enqueueIMC);
+        FMLJavaModLoadingContext.get().getModEventBus().addListener(ToolbeltInventories::register);
         TetraAttributes.registry.register(FMLJavaModLoadingContext.get().getModEventBus());
 
         MinecraftForge.EVENT_BUS.register(this);
@@ -143,6 +148,8 @@ public class TetraMod {
         MinecraftForge.EVENT_BUS.register(new VibrationDebuffer());
         MinecraftForge.EVENT_BUS.register(ServerScheduler.class);
         MinecraftForge.EVENT_BUS.register(ClientScheduler.class);
+        MinecraftForge.EVENT_BUS.register(CarveScheduler.class);
+        MinecraftForge.EVENT_BUS.register(PlayerPropertyIndex.class);
 
         if (ConfigHandler.enableLookTrigger.get()) {
             MinecraftForge.EVENT_BUS.register(BlockLookTrigger.instance);
@@ -150,6 +157,7 @@ public class TetraMod {
 
         ToolActionHelper.init();
         TierHelper.init();
+        PlayerPropertyIndex.init();
 
         ConfigHandler.setup();
 
@@ -185,6 +193,8 @@ public class TetraMod {
         moduleRegistry.registerModuleType(new ResourceLocation(MOD_ID, "multi_major_module"), MultiSlotMajorModule::new);
         moduleRegistry.registerModuleType(new ResourceLocation(MOD_ID, "toolbelt_module"), ToolbeltModule::new);
 
+        new ItemDataCache();
+
         new TetraItemGroup();
 
         CriteriaTriggers.register(BlockLookTrigger.instance);
@@ -345,7 +355,7 @@ public class TetraMod {
                         .map(block -> (ITetraBlock) block).toArray(ITetraBlock[]::new));
 
 
-        packetHandler = new PacketHandler(MOD_ID, "main", "1");
+        packetHandler = new PacketHandler(MOD_ID, "main", "2");
 
         Arrays.stream(items)
                 .filter(item -> item instanceof ITetraItem)
@@ -359,6 +369,8 @@ public class TetraMod {
         packetHandler.registerPacket(HonePacket.class, HonePacket::new);
         packetHandler.registerPacket(SettlePacket.class, SettlePacket::new);
         packetHandler.registerPacket(UpdateDataPacket.class, UpdateDataPacket::new);
+        packetHandler.registerPacket(DataOfferPacket.class, DataOfferPacket::new);
+        packetHandler.registerPacket(DataRequestPacket.class, DataRequestPacket::new);
         packetHandler.registerPacket(SecondaryAbilityPacket.class, SecondaryAbilityPacket::new);
         packetHandler.registerPacket(ChargedAbilityPacket.class, ChargedAbilityPacket::new);
         packetHandler.registerPacket(TruesweepPacket.class, TruesweepPacket::new);
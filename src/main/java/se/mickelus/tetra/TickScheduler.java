@@ -0,0 +1,176 @@
+package se.mickelus.tetra;
+
+import com.google.common.collect.Queues;
+import net.minecraft.world.level.LevelAccessor;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed timing wheel backing the server & client schedulers. Tasks are placed in the slot of the tick they're due, so each tick only has to
+ * look at the tasks in a single slot, tasks due further ahead than the size of the wheel are left in their slot until their tick comes
+ * around. Tasks may be scheduled from any thread, they're handed over to the wheel through a concurrent queue when the wheel is ticked.
+ */
+@ParametersAreNonnullByDefault
+class TickScheduler {
+    private static final int wheelSize = 64;
+    private static final int wheelMask = wheelSize - 1;
+
+    private final Queue<Task> incoming = Queues.newConcurrentLinkedQueue();
+    private final Map<String, Task> keyedTasks = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private final List<Task>[] wheel = new List[wheelSize];
+
+    private volatile int counter;
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private long executedCount;
+    private long overrunCount;
+
+    TickScheduler() {
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+    }
+
+    public void schedule(@Nullable LevelAccessor level, int delay, Runnable runnable) {
+        incoming.add(new Task(null, level, counter + delay, runnable));
+        queuedCount.incrementAndGet();
+    }
+
+    /**
+     * Schedules a task that replaces any pending task with the same id.
+     */
+    public void schedule(String id, @Nullable LevelAccessor level, int delay, Runnable runnable) {
+        Task task = new Task(id, level, counter + delay, runnable);
+        Task replaced = keyedTasks.put(id, task);
+        if (replaced != null) {
+            replaced.cancelled = true;
+        }
+
+        incoming.add(task);
+        queuedCount.incrementAndGet();
+    }
+
+    /**
+     * Drops all pending tasks tied to the given level, should be called when the level is unloaded.
+     */
+    public void dropLevel(LevelAccessor level) {
+        incoming.stream()
+                .filter(task -> task.level == level)
+                .forEach(this::cancel);
+
+        for (List<Task> slot : wheel) {
+            slot.stream()
+                    .filter(task -> task.level == level)
+                    .forEach(this::cancel);
+        }
+    }
+
+    /**
+     * Runs the tasks that are due, tasks scheduled by running tasks are run within the same tick if they're due. If a budget is given then
+     * at most that many tasks are run, remaining due tasks are pushed to the next tick.
+     *
+     * @param budget the maximum number of tasks to run, or zero to run all due tasks
+     */
+    public void tick(int budget) {
+        int tick = counter;
+        List<Task> slot = wheel[tick & wheelMask];
+        int executed = 0;
+
+        drainIncoming(tick);
+
+        // the slot is always walked once, then again for as long as running tasks hand over new tasks that are already due
+        boolean hasDue = true;
+        while (hasDue) {
+            List<Task> current = new ArrayList<>(slot);
+            slot.clear();
+            for (Task task : current) {
+                if (task.cancelled) {
+                    continue;
+                }
+
+                if (task.tick > tick) {
+                    slot.add(task);
+                } else if (budget > 0 && executed >= budget) {
+                    // pushed to the next tick, keeps the original tick so that it stays ahead of tasks scheduled later
+                    wheel[(tick + 1) & wheelMask].add(task);
+                    overrunCount++;
+                } else {
+                    run(task);
+                    executed++;
+                }
+            }
+
+            hasDue = (budget <= 0 || executed < budget) && drainIncoming(tick);
+        }
+
+        counter++;
+    }
+
+    private boolean drainIncoming(int tick) {
+        boolean hasDue = false;
+        Task task;
+        while ((task = incoming.poll()) != null) {
+            // tasks due at this tick run on the next tick, matching how tasks were run before the wheel
+            int due = Math.max(task.tick + 1, tick);
+            task.tick = due;
+            wheel[due & wheelMask].add(task);
+            hasDue |= due <= tick;
+        }
+        return hasDue;
+    }
+
+    private void run(Task task) {
+        if (task.id != null) {
+            keyedTasks.remove(task.id, task);
+        }
+
+        executedCount++;
+        task.runnable.run();
+    }
+
+    private void cancel(Task task) {
+        task.cancelled = true;
+        if (task.id != null) {
+            keyedTasks.remove(task.id, task);
+        }
+    }
+
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    public long getExecutedCount() {
+        return executedCount;
+    }
+
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+
+    static class Task {
+        @Nullable
+        private final String id;
+        @Nullable
+        private final LevelAccessor level;
+        private final Runnable runnable;
+
+        private int tick;
+        private volatile boolean cancelled = false;
+
+        public Task(@Nullable String id, @Nullable LevelAccessor level, int tick, Runnable runnable) {
+            this.id = id;
+            this.level = level;
+            this.tick = tick;
+            this.runnable = runnable;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package se.mickelus.tetra.blocks.forged.chthonic;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import se.mickelus.tetra.ConfigHandler;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server wide queue for the blocks carved out by fractured bedrock. Each carve requires a raytrace, a walk down a column and possibly loot
+ * rolls or mob spawns, so rather than having every fractured bedrock carve in the tick it activates the carves are queued and drained
+ * under a budget each tick. Carves that target unloaded chunks are dropped, as the raytrace would otherwise cause the chunks to load, as are
+ * carves queued by fractured bedrock that has since been removed.
+ */
+@ParametersAreNonnullByDefault
+public class CarveScheduler {
+    private static final long timeBudget = TimeUnit.MILLISECONDS.toNanos(4);
+
+    // only accessed from the server thread, fractured bedrock doesn't carve on the client
+    private static final Queue<Carve> queue = new ArrayDeque<>();
+
+    static void schedule(FracturedBedrockTile tile, Vec3 target, int tier) {
+        queue.add(new Carve(tile, target, tier));
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || queue.isEmpty()) {
+            return;
+        }
+
+        int budget = ConfigHandler.extractorCarveBudget.get();
+        long start = System.nanoTime();
+        for (int i = 0; i < budget && !queue.isEmpty(); i++) {
+            // always perform at least one carve per tick so that a slow tick can't stall extractors completely
+            if (i > 0 && System.nanoTime() - start > timeBudget) {
+                break;
+            }
+
+            Carve carve = queue.poll();
+            // the bedrock may have been broken or replaced since the carve was queued
+            if (!carve.tile.isRemoved() && carve.isLoaded()) {
+                carve.tile.carve(carve.target, carve.tier);
+            } else {
+                carve.tile.dropCarve();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        queue.removeIf(carve -> carve.tile.getLevel() == event.getWorld());
+    }
+
+    private static class Carve {
+        private final FracturedBedrockTile tile;
+        private final Vec3 target;
+        private final int tier;
+
+        public Carve(FracturedBedrockTile tile, Vec3 target, int tier) {
+            this.tile = tile;
+            this.target = target;
+            this.tier = tier;
+        }
+
+        private boolean isLoaded() {
+            Level level = tile.getLevel();
+            if (level == null) {
+                return false;
+            }
+
+            BlockPos origin = tile.getBlockPos();
+            BlockPos end = new BlockPos(Vec3.atCenterOf(origin).add(target));
+
+            // the ray can pass through any chunk within the box spanned by its endpoints
+            return level.hasChunksAt(
+                    Math.min(origin.getX(), end.getX()), Math.min(origin.getY(), end.getY()), Math.min(origin.getZ(), end.getZ()),
+                    Math.max(origin.getX(), end.getX()), Math.max(origin.getY(), end.getY()), Math.max(origin.getZ(), end.getZ()));
+        }
+    }
+}
@@ -67,6 +67,20 @@ public class FracturedBedrockTile extends BlockEntity {
     };
     @ObjectHolder(TetraMod.MOD_ID + ":" + FracturedBedrockBlock.unlocalizedName)
     public static BlockEntityType<FracturedBedrockTile> type;
+
+    // unit directions of the targets for each step up until depletion, stored as x, y & z triplets
+    private static final int targetCount = ChthonicExtractorBlock.maxDamage * 12 + 4;
+    private static final float[] targetDirections = new float[targetCount * 3];
+
+    static {
+        for (int i = 0; i < targetCount; i++) {
+            Vec3 direction = getTargetDirection(i);
+            targetDirections[i * 3] = (float) direction.x;
+            targetDirections[i * 3 + 1] = (float) direction.y;
+            targetDirections[i * 3 + 2] = (float) direction.z;
+        }
+    }
+
     private final float spawnRatio = 0.5f;
     private final int spawnYLimit = 4;
     private int activity = 0;
@@ -74,6 +88,9 @@ public class FracturedBedrockTile extends BlockEntity {
     private int luck = 0;
     private MobSpawnSettings spawnInfo;
 
+    // carves queued with the carve scheduler, new carves are not queued until all previous carves have been performed
+    private int pendingCarves = 0;
+
     public FracturedBedrockTile(BlockPos pos, BlockState blockState) {
         super(type, pos, blockState);
     }
@@ -176,14 +193,25 @@ public class FracturedBedrockTile extends BlockEntity {
         return step >= ChthonicExtractorBlock.maxDamage * 12;
     }
 
-    private Vec3 getTarget(int i) {
-        int maxDistance = getMaxDistance();
+    private static Vec3 getTargetDirection(int i) {
         int steps = 32;
         double directionRotation = 90d * (i % 4);
         double offsetRotation = 360d / steps * (i / 4) + i / 8f;
         float pitch = -(i % (steps * 16)) / steps * 5f;
 
-        return Vec3.directionFromRotation(pitch, (float) (directionRotation + offsetRotation)).multiply(maxDistance, 4 + maxDistance / 2f, maxDistance);
+        return Vec3.directionFromRotation(pitch, (float) (directionRotation + offsetRotation));
+    }
+
+    private Vec3 getTarget(int i) {
+        int maxDistance = getMaxDistance();
+        if (i >= 0 && i < targetCount) {
+            return new Vec3(
+                    targetDirections[i * 3] * (double) maxDistance,
+                    targetDirections[i * 3 + 1] * (double) (4 + maxDistance / 2f),
+                    targetDirections[i * 3 + 2] * (double) maxDistance);
+        }
+
+        return getTargetDirection(i).multiply(maxDistance, 4 + maxDistance / 2f, maxDistance);
     }
 
     private boolean isBedrock(Block block) {
@@ -234,9 +262,9 @@ public class FracturedBedrockTile extends BlockEntity {
         return movePos.immutable();
     }
 
-    private void spawnOre(BlockPos pos) {
+    private void spawnOre(BlockPos pos, int tier) {
         ServerLevel serverWorld = (ServerLevel) level;
-        LootTable table = serverWorld.getServer().getLootTables().get(lootTables[getTier()]);
+        LootTable table = serverWorld.getServer().getLootTables().get(lootTables[tier]);
         LootContext context = new LootContext.Builder(serverWorld).withLuck(luck).create(LootContextParamSets.EMPTY);
 
         table.getRandomItems(context).stream()
@@ -356,37 +384,58 @@ public class FracturedBedrockTile extends BlockEntity {
         this.load(packet.getTag());
     }
 
+    /**
+     * Performs a carve queued by {@link CarveScheduler}, breaks the first block hit by a ray towards the given target and either spawns ore,
+     * a mob or breaks another block at the bottom of the column below it.
+     *
+     * @param target the target of the ray, relative to this tile
+     * @param tier   the tier of this tile at the time the carve was queued
+     */
+    void carve(Vec3 target, int tier) {
+        pendingCarves--;
+
+        Vec3 origin = Vec3.atCenterOf(worldPosition);
+        BlockHitResult result = raytrace(level, origin, origin.add(target));
+
+        if (result.getType() != HitResult.Type.MISS) {
+            BlockPos hitPos = result.getBlockPos();
+            BlockState hitState = level.getBlockState(hitPos);
+
+            breakBlock(level, hitPos, hitState);
+
+            int minY = level.getMinBuildHeight();
+            BlockPos spawnPos = traceDown(hitPos, minY, level);
+            BlockState spawnState = level.getBlockState(spawnPos);
+
+            if (canReplace(spawnState)) {
+                if (level.getRandom().nextFloat() < spawnRatio) {
+                    if (spawnPos.getY() < minY + spawnYLimit) {
+                        spawnOre(spawnPos, tier);
+                    }
+                } else {
+                    spawnMob(spawnPos);
+                }
+            } else {
+                breakBlock(level, spawnPos, spawnState);
+            }
+        }
+    }
+
+    /**
+     * Called by {@link CarveScheduler} when a queued carve is dropped, e.g. due to it targeting an unloaded chunk.
+     */
+    void dropCarve() {
+        pendingCarves--;
+    }
+
     public void tick(Level level, BlockPos pos, BlockState state) {
-        if (!level.isClientSide && activity > 0 && level.getGameTime() % getRate() == 0) {
+        if (!level.isClientSide && activity > 0 && pendingCarves <= 0 && level.getGameTime() % getRate() == 0) {
             int intensity = getIntensity();
-            Vec3 origin = Vec3.atCenterOf(pos);
+            int tier = getTier();
 
             for (int i = 0; i < intensity; i++) {
-                Vec3 target = getTarget(step + i);
-                BlockHitResult result = raytrace(level, origin, origin.add(target));
-
-                if (result.getType() != HitResult.Type.MISS) {
-                    BlockPos hitPos = result.getBlockPos();
-                    BlockState hitState = level.getBlockState(hitPos);
-
-                    breakBlock(level, hitPos, hitState);
-
-                    int minY = level.getMinBuildHeight();
-                    BlockPos spawnPos = traceDown(hitPos, minY, level);
-                    BlockState spawnState = level.getBlockState(spawnPos);
-
-                    if (canReplace(spawnState)) {
-                        if (level.getRandom().nextFloat() < spawnRatio) {
-                            if (spawnPos.getY() < minY + spawnYLimit) {
-                                spawnOre(spawnPos);
-                            }
-                        } else {
-                            spawnMob(spawnPos);
-                        }
-                    } else {
-                        breakBlock(level, spawnPos, spawnState);
-                    }
-                }
+                pendingCarves++;
+                CarveScheduler.schedule(this, getTarget(step + i), tier);
             }
 
             ((ServerLevel) level).sendParticles(new BlockParticleOption(ParticleTypes.BLOCK, FracturedBedrockBlock.instance.defaultBlockState()),
@@ -13,6 +13,7 @@ import net.minecraft.world.phys.shapes.Shapes;
 import net.minecraftforge.registries.ObjectHolder;
 import org.apache.commons.lang3.ArrayUtils;
 import se.mickelus.tetra.TetraMod;
+import se.mickelus.tetra.blocks.workbench.AbstractWorkbenchBlock;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -39,6 +40,7 @@ public class ScrollTile extends BlockEntity {
         if (scrolls.length < 6) {
             scrolls = ArrayUtils.add(scrolls, ScrollData.read(itemStack));
             setChanged();
+            invalidateWorkbenchUnlocks();
             return true;
         }
         return false;
@@ -96,6 +98,32 @@ public class ScrollTile extends BlockEntity {
         super.load(compound);
 
         scrolls = ScrollData.read(compound);
+
+        invalidateWorkbenchUnlocks();
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+
+        invalidateWorkbenchUnlocks();
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+
+        invalidateWorkbenchUnlocks();
+    }
+
+    /**
+     * Nearby workbenches cache what schematics & crafting effects they have unlocked, they need to rescan when scrolls are added, removed
+     * or changed
+     */
+    private void invalidateWorkbenchUnlocks() {
+        if (level != null) {
+            AbstractWorkbenchBlock.invalidateUnlocks(level, worldPosition);
+        }
     }
 
     @Override
@@ -26,9 +26,11 @@ import se.mickelus.tetra.blocks.salvage.BlockInteraction;
 import se.mickelus.tetra.blocks.salvage.IInteractiveBlock;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public abstract class AbstractWorkbenchBlock extends TetraBlock implements IInteractiveBlock, EntityBlock {
     public AbstractWorkbenchBlock(Properties properties) {
@@ -130,26 +132,90 @@ public abstract class AbstractWorkbenchBlock extends TetraBlock implements IInte
         return null;
     }
 
+    /**
+     * Returns the schematics unlocked by blocks surrounding the workbench, this is cached by the workbench tile and only rescanned when a
+     * block providing unlocks changes nearby.
+     */
     @Override
     public ResourceLocation[] getSchematics(Level world, BlockPos pos, BlockState blockState) {
-        return BlockPos.betweenClosedStream(pos.offset(-2, 0, -2), pos.offset(2, 4, 2))
-                .map(offsetPos -> new Pair<>(offsetPos, world.getBlockState(offsetPos)))
-                .filter(pair -> pair.getSecond().getBlock() instanceof ITetraBlock)
-                .filter(pair -> ((ITetraBlock) pair.getSecond().getBlock()).canUnlockSchematics(world, pair.getFirst(), pos))
-                .map(pair -> ((ITetraBlock) pair.getSecond().getBlock()).getSchematics(world, pair.getFirst(), blockState))
-                .flatMap(Stream::of)
-                .toArray(ResourceLocation[]::new);
+        return TileEntityOptional.from(world, pos, WorkbenchTile.class)
+                .map(WorkbenchTile::getUnlockedSchematics)
+                .orElseGet(() -> scanSchematics(world, pos, blockState));
     }
 
+    /**
+     * Returns the crafting effects unlocked by blocks surrounding the workbench, cached by the workbench tile in the same manner as schematics.
+     */
     @Override
     public ResourceLocation[] getCraftingEffects(Level world, BlockPos pos, BlockState blockState) {
-        return BlockPos.betweenClosedStream(pos.offset(-2, 0, -2), pos.offset(2, 4, 2))
-                .map(offsetPos -> new Pair<>(offsetPos, world.getBlockState(offsetPos)))
-                .filter(pair -> pair.getSecond().getBlock() instanceof ITetraBlock)
-                .filter(pair -> ((ITetraBlock) pair.getSecond().getBlock()).canUnlockCraftingEffects(world, pair.getFirst(), pos))
-                .map(pair -> ((ITetraBlock) pair.getSecond().getBlock()).getCraftingEffects(world, pair.getFirst(), blockState))
-                .flatMap(Stream::of)
-                .toArray(ResourceLocation[]::new);
+        return TileEntityOptional.from(world, pos, WorkbenchTile.class)
+                .map(WorkbenchTile::getUnlockedCraftingEffects)
+                .orElseGet(() -> scanCraftingEffects(world, pos, blockState));
+    }
+
+    /**
+     * @return the positions of blocks that may unlock schematics or crafting effects for a workbench at the given position
+     */
+    static Iterable<BlockPos> getUnlockArea(BlockPos pos) {
+        return BlockPos.betweenClosed(pos.offset(-2, 0, -2), pos.offset(2, 4, 2));
+    }
+
+    ResourceLocation[] scanSchematics(Level world, BlockPos pos, BlockState blockState) {
+        List<ResourceLocation> result = new ArrayList<>();
+        for (BlockPos offsetPos : getUnlockArea(pos)) {
+            if (world.getBlockState(offsetPos).getBlock() instanceof ITetraBlock block && block.canUnlockSchematics(world, offsetPos, pos)) {
+                Collections.addAll(result, block.getSchematics(world, offsetPos, blockState));
+            }
+        }
+        return result.toArray(new ResourceLocation[0]);
+    }
+
+    ResourceLocation[] scanCraftingEffects(Level world, BlockPos pos, BlockState blockState) {
+        List<ResourceLocation> result = new ArrayList<>();
+        for (BlockPos offsetPos : getUnlockArea(pos)) {
+            if (world.getBlockState(offsetPos).getBlock() instanceof ITetraBlock block && block.canUnlockCraftingEffects(world, offsetPos, pos)) {
+                Collections.addAll(result, block.getCraftingEffects(world, offsetPos, blockState));
+            }
+        }
+        return result.toArray(new ResourceLocation[0]);
+    }
+
+    /**
+     * Called whenever a block changes, invalidates unlocks of nearby workbenches if the block may unlock schematics or crafting effects
+     * before or after the change. Blocks that aren't tetra blocks can't provide unlocks, so most changes are skipped after a type check.
+     *
+     * @param world         the world
+     * @param pos           the position of the changed block
+     * @param previousState the state of the block before the change
+     * @param currentState  the state of the block after the change
+     */
+    public static void onBlockChanged(Level world, BlockPos pos, BlockState previousState, BlockState currentState) {
+        if (!(previousState.getBlock() instanceof ITetraBlock) && !(currentState.getBlock() instanceof ITetraBlock)) {
+            return;
+        }
+
+        // changes made off thread are from world generation, there are no workbenches that could be affected and looking them up could block
+        if (world.getServer() != null && !world.getServer().isSameThread()) {
+            return;
+        }
+
+        invalidateUnlocks(world, pos);
+    }
+
+    /**
+     * Should be called when a block that may unlock schematics or crafting effects changes what it unlocks without changing its block state,
+     * e.g. when the contents of its block entity change. Causes workbenches within range of the block to rescan their surroundings the next
+     * time unlocks are requested, block changes are handled by {@link #onBlockChanged}.
+     *
+     * @param world       the world
+     * @param providerPos the position of the block providing unlocks
+     */
+    public static void invalidateUnlocks(Level world, BlockPos providerPos) {
+        for (BlockPos pos : BlockPos.betweenClosed(providerPos.offset(-2, -4, -2), providerPos.offset(2, 0, 2))) {
+            if (world.isLoaded(pos)) {
+                TileEntityOptional.from(world, pos, WorkbenchTile.class).ifPresent(WorkbenchTile::invalidateUnlocks);
+            }
+        }
     }
 
     @Override
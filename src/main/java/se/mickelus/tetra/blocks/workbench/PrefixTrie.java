@@ -0,0 +1,45 @@
+package se.mickelus.tetra.blocks.workbench;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Character trie over a set of prefixes, used to check if a string starts with any of the prefixes in a single walk over the string
+ * rather than testing each prefix separately.
+ */
+@ParametersAreNonnullByDefault
+class PrefixTrie {
+    private final Node root = new Node();
+
+    public void add(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node());
+        }
+        node.terminal = true;
+    }
+
+    /**
+     * @return true if any of the added prefixes is a prefix of (or equal to) the given string
+     */
+    public boolean matchesPrefix(String string) {
+        Node node = root;
+        for (int i = 0; i < string.length(); i++) {
+            if (node.terminal) {
+                return true;
+            }
+
+            node = node.children.get(string.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private boolean terminal = false;
+    }
+}
@@ -66,6 +66,8 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
     @ObjectHolder(TetraMod.MOD_ID + ":" + WorkbenchTile.unlocalizedName)
     public static MenuType<WorkbenchContainer> containerType;
     private static WorkbenchAction[] actions = new WorkbenchAction[0];
+    // bumped on data reload, unlocks cached by tiles from earlier generations are rescanned
+    private static volatile int unlocksGeneration = 0;
 
     static {
         DataManager.instance.actionData.onReload(() -> {
@@ -74,6 +76,9 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
 
             actions = ArrayUtils.addAll(WorkbenchTile.defaultActions, configActions);
         });
+
+        DataManager.instance.schematicData.onReload(() -> unlocksGeneration++);
+        DataManager.instance.craftingEffectData.onReload(() -> unlocksGeneration++);
     }
 
     private final ItemStack previousTarget = ItemStack.EMPTY;
@@ -83,6 +88,12 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
     private String currentSlot;
     private ActionInteraction interaction;
 
+    // schematics & crafting effects unlocked by surrounding blocks, rescanned when invalidated (e.g. by block changes) or when data is reloaded
+    private int cachedUnlocksGeneration = -1;
+    private ResourceLocation[] unlockedSchematics;
+    private ResourceLocation[] unlockedCraftingEffects;
+    private PrefixTrie unlockedSchematicPrefixes;
+
     public WorkbenchTile(BlockPos p_155268_, BlockState p_155269_) {
         super(type, p_155268_, p_155269_);
         changeListeners = new HashMap<>();
@@ -439,9 +450,53 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
     }
 
     public ResourceLocation[] getUnlockedSchematics() {
-        return CastOptional.cast(getBlockState().getBlock(), AbstractWorkbenchBlock.class)
-                .map(block -> block.getSchematics(level, worldPosition, getBlockState()))
-                .orElse(new ResourceLocation[0]);
+        updateUnlocks();
+        return unlockedSchematics;
+    }
+
+    public ResourceLocation[] getUnlockedCraftingEffects() {
+        updateUnlocks();
+        return unlockedCraftingEffects;
+    }
+
+    /**
+     * Checks if the given schematic key is unlocked by the blocks surrounding the workbench, schematics are unlocked by prefix so that
+     * a single unlock may cover several schematics.
+     */
+    public boolean isSchematicUnlocked(String schematicKey) {
+        updateUnlocks();
+        return unlockedSchematicPrefixes.matchesPrefix(schematicKey);
+    }
+
+    /**
+     * Marks unlocked schematics & crafting effects as stale, causing them to be rescanned the next time they are requested.
+     */
+    public void invalidateUnlocks() {
+        cachedUnlocksGeneration = -1;
+    }
+
+    private void updateUnlocks() {
+        int generation = unlocksGeneration;
+        if (cachedUnlocksGeneration == generation && unlockedSchematics != null) {
+            return;
+        }
+
+        AbstractWorkbenchBlock block = CastOptional.cast(getBlockState().getBlock(), AbstractWorkbenchBlock.class).orElse(null);
+        if (block != null && level != null) {
+            unlockedSchematics = block.scanSchematics(level, worldPosition, getBlockState());
+            unlockedCraftingEffects = block.scanCraftingEffects(level, worldPosition, getBlockState());
+        } else {
+            unlockedSchematics = new ResourceLocation[0];
+            unlockedCraftingEffects = new ResourceLocation[0];
+        }
+
+        PrefixTrie prefixes = new PrefixTrie();
+        for (ResourceLocation unlock : unlockedSchematics) {
+            prefixes.add(unlock.getPath());
+        }
+        unlockedSchematicPrefixes = prefixes;
+
+        cachedUnlocksGeneration = generation;
     }
 
     public void applyTweaks(Player player, String slot, Map<String, Integer> tweaks) {
@@ -24,9 +24,11 @@ import se.mickelus.tetra.aspect.TetraEnchantmentHelper;
 import se.mickelus.tetra.blocks.salvage.InteractiveBlockOverlay;
 import se.mickelus.tetra.blocks.workbench.WorkbenchContainer;
 import se.mickelus.tetra.blocks.workbench.WorkbenchTile;
+import se.mickelus.tetra.client.model.ModularModelLoader;
 import se.mickelus.tetra.gui.GuiTextures;
 import se.mickelus.tetra.gui.HoneProgressGui;
 import se.mickelus.tetra.items.modular.IModularItem;
+import se.mickelus.tetra.items.modular.ItemDataCache;
 import se.mickelus.tetra.module.schematic.UpgradeSchematic;
 import se.mickelus.tetra.properties.PropertyHelper;
 
@@ -121,6 +123,14 @@ public class WorkbenchScreen extends AbstractContainerScreen<WorkbenchContainer>
         statGroup.realignBars();
     }
 
+    @Override
+    public void removed() {
+        super.removed();
+
+        ItemDataCache.instance.clearPreviews();
+        ModularModelLoader.clearPreviewCaches();
+    }
+
     @Override
     public void render(PoseStack matrixStack, final int mouseX, final int mouseY, final float partialTicks) {
         this.renderBackground(matrixStack, 0);
@@ -203,7 +213,7 @@ public class WorkbenchScreen extends AbstractContainerScreen<WorkbenchContainer>
                     if (module.hasTweak(previewStack, tweakKey)) {
                         module.setTweakStep(previewStack, tweakKey, step);
                     }
-                    IModularItem.updateIdentifier(previewStack);
+                    IModularItem.updatePreviewIdentifier(previewStack);
                 }));
 
         statGroup.update(currentTarget, previewStack, null, null, viewingPlayer);
@@ -395,7 +405,7 @@ public class WorkbenchScreen extends AbstractContainerScreen<WorkbenchContainer>
             result = WorkbenchTile.applyCraftingBonusEffects(result, slot, willReplace, viewingPlayer, materials, materials, tools,
                     tileEntity.getLevel(), tileEntity.getBlockPos(), tileEntity.getBlockState(), false);
 
-            IModularItem.updateIdentifier(result);
+            IModularItem.updatePreviewIdentifier(result);
             return result;
         }
         return ItemStack.EMPTY;
@@ -11,6 +11,7 @@ import se.mickelus.mutil.gui.animation.KeyframeAnimation;
 import se.mickelus.tetra.TetraToolActions;
 import se.mickelus.tetra.gui.stats.AbilityStats;
 import se.mickelus.tetra.gui.stats.GuiStats;
+import se.mickelus.tetra.gui.stats.StatSnapshot;
 import se.mickelus.tetra.gui.stats.StatsHelper;
 import se.mickelus.tetra.gui.stats.bar.GuiStatBarTool;
 import se.mickelus.tetra.gui.stats.bar.GuiStatBase;
@@ -120,14 +121,14 @@ public class WorkbenchStatsGui extends GuiElement {
         setVisible(shouldShow);
         if (shouldShow) {
             barGroup.clearChildren();
-            bars.stream()
+            StatSnapshot.capture(() -> bars.stream()
                     .filter(bar -> bar.shouldShow(player, itemStack, previewStack, slot, improvement))
                     .forEach(bar -> {
                         bar.update(player, itemStack, previewStack, slot, improvement);
 
                         realignBar(bar, barGroup.getNumChildren());
                         barGroup.addChild(bar);
-                    });
+                    }));
 
         }
     }
@@ -1,7 +1,10 @@
 package se.mickelus.tetra.client.model;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.mojang.blaze3d.vertex.VertexFormat;
 import com.mojang.datafixers.util.Pair;
 import com.mojang.math.Transformation;
@@ -19,9 +22,13 @@ import net.minecraftforge.client.model.geometry.IModelGeometry;
 import net.minecraftforge.client.model.pipeline.BakedQuadBuilder;
 import net.minecraftforge.client.model.pipeline.IVertexConsumer;
 import net.minecraftforge.client.model.pipeline.TRSRTransformer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import se.mickelus.tetra.ConfigHandler;
 import se.mickelus.tetra.module.data.ModuleModel;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 
 /**
@@ -33,6 +40,17 @@ import java.util.function.Function;
  * - Not limited to 4 layers maximum.
  */
 public final class ModularItemModel implements IModelGeometry<ModularItemModel> {
+    private static final Logger logger = LogManager.getLogger();
+
+    // quads for a module layer only depend on its texture, tint & transform, layers are shared between all baked models so that baking a new
+    // combination of modules only has to build layers that have not been seen before
+    private static final Cache<LayerKey, List<BakedQuad>> layerCache = CacheBuilder.newBuilder()
+            .maximumSize(4000)
+            .build();
+
+    private static final Cache<TextureAtlasSprite, boolean[]> opacityCache = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
 
     private final ItemTransforms cameraTransforms;
     ModularOverrideList overrideList;
@@ -48,6 +66,150 @@ public final class ModularItemModel implements IModelGeometry<ModularItemModel>
     }
 
     public static List<BakedQuad> getQuadsForSprite(int tintIndex, TextureAtlasSprite sprite, Transformation transform, int color) {
+        if (ConfigHandler.itemModelMeshing.get()) {
+            try {
+                return getMeshedQuadsForSprite(tintIndex, sprite, transform, color);
+            } catch (IllegalStateException e) {
+                logger.warn("Failed to mesh quads for sprite {}, falling back to unmeshed quads", sprite.getName(), e);
+            }
+        }
+
+        return getUnmeshedQuadsForSprite(tintIndex, sprite, transform, color);
+    }
+
+    /**
+     * Returns the quads for a single module layer, layers are cached independently of the models they are baked into. Tetra registers no
+     * item color handlers so layers are built without a tint index, which allows the same layer to be shared regardless of its position
+     * in the model.
+     */
+    private static List<BakedQuad> getLayerQuads(ModuleModel model, TextureAtlasSprite sprite, Transformation transform) {
+        LayerKey key = new LayerKey(model.location, model.tint, transform, ConfigHandler.itemModelMeshing.get());
+        try {
+            return layerCache.get(key, () -> getQuadsForSprite(-1, sprite, transform, model.tint));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            logger.warn("Failed to build quads for module model {}", model.location, e);
+            return Collections.emptyList();
+        }
+    }
+
+    public static void clearQuadCache() {
+        layerCache.invalidateAll();
+        opacityCache.invalidateAll();
+    }
+
+    /**
+     * Builds side quads only where an opaque texel borders a transparent texel (or the edge of the sprite), contiguous runs of such edges
+     * are merged into a single quad. Sprites that are fully transparent produce no quads at all.
+     */
+    private static List<BakedQuad> getMeshedQuadsForSprite(int tintIndex, TextureAtlasSprite sprite, Transformation transform, int color) {
+        int width = sprite.getWidth();
+        int height = sprite.getHeight();
+        boolean[] opaque = getOpacity(sprite);
+
+        boolean hasOpaque = false;
+        for (boolean texel : opaque) {
+            hasOpaque |= texel;
+        }
+
+        if (!hasOpaque) {
+            return ImmutableList.of();
+        }
+
+        ImmutableList.Builder<BakedQuad> builder = ImmutableList.builder();
+
+        // model space has y pointing up while texture rows go down, row v in model space corresponds to texel row (height - 1 - v)
+        for (int v = 0; v < height; v++) {
+            int row = height - 1 - v;
+            int bottomStart = -1;
+            int topStart = -1;
+            for (int u = 0; u <= width; u++) {
+                boolean bottomEdge = isOpaque(opaque, width, height, u, row) && !isOpaque(opaque, width, height, u, row + 1);
+                boolean topEdge = isOpaque(opaque, width, height, u, row) && !isOpaque(opaque, width, height, u, row - 1);
+
+                if (bottomEdge && bottomStart == -1) {
+                    bottomStart = u;
+                } else if (!bottomEdge && bottomStart != -1) {
+                    builder.add(buildSideQuad(transform, Direction.UP, tintIndex, color, sprite, bottomStart, v, u - bottomStart));
+                    bottomStart = -1;
+                }
+
+                if (topEdge && topStart == -1) {
+                    topStart = u;
+                } else if (!topEdge && topStart != -1) {
+                    builder.add(buildSideQuad(transform, Direction.DOWN, tintIndex, color, sprite, topStart, v + 1, u - topStart));
+                    topStart = -1;
+                }
+            }
+        }
+
+        for (int u = 0; u < width; u++) {
+            int eastStart = -1;
+            int westStart = -1;
+            for (int v = 0; v <= height; v++) {
+                int row = height - 1 - v;
+                boolean eastEdge = isOpaque(opaque, width, height, u, row) && !isOpaque(opaque, width, height, u + 1, row);
+                boolean westEdge = isOpaque(opaque, width, height, u, row) && !isOpaque(opaque, width, height, u - 1, row);
+
+                if (eastEdge && eastStart == -1) {
+                    eastStart = v;
+                } else if (!eastEdge && eastStart != -1) {
+                    builder.add(buildSideQuad(transform, Direction.EAST, tintIndex, color, sprite, u + 1, eastStart, v - eastStart));
+                    eastStart = -1;
+                }
+
+                if (westEdge && westStart == -1) {
+                    westStart = v;
+                } else if (!westEdge && westStart != -1) {
+                    builder.add(buildSideQuad(transform, Direction.WEST, tintIndex, color, sprite, u, westStart, v - westStart));
+                    westStart = -1;
+                }
+            }
+        }
+
+        addFrontAndBackQuads(builder, tintIndex, sprite, transform, color);
+
+        return builder.build();
+    }
+
+    private static boolean isOpaque(boolean[] opaque, int width, int height, int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height && opaque[y * width + x];
+    }
+
+    /**
+     * Reads the opacity of the given sprite ahead of time, so that quads for the sprite can be meshed without touching the texture data.
+     * Used when baking off-thread, as texture data may be released by a resource reload while a bake is in flight.
+     */
+    public static void prepareSprite(TextureAtlasSprite sprite) {
+        if (ConfigHandler.itemModelMeshing.get()) {
+            getOpacity(sprite);
+        }
+    }
+
+    /**
+     * A texel is considered to be opaque if it is opaque in any frame of the sprite, for animated sprites
+     */
+    private static boolean[] getOpacity(TextureAtlasSprite sprite) {
+        try {
+            return opacityCache.get(sprite, () -> {
+                int width = sprite.getWidth();
+                int height = sprite.getHeight();
+                boolean[] result = new boolean[width * height];
+                for (int frame = 0; frame < sprite.getFrameCount(); frame++) {
+                    for (int y = 0; y < height; y++) {
+                        for (int x = 0; x < width; x++) {
+                            result[y * width + x] |= !sprite.isTransparent(frame, x, y);
+                        }
+                    }
+                }
+                return result;
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            // runtime exceptions from the loader (e.g. a sprite image released during an async bake) are wrapped as unchecked
+            throw new IllegalStateException("Failed to read opacity for sprite " + sprite.getName(), e.getCause());
+        }
+    }
+
+    private static List<BakedQuad> getUnmeshedQuadsForSprite(int tintIndex, TextureAtlasSprite sprite, Transformation transform, int color) {
         ImmutableList.Builder<BakedQuad> builder = ImmutableList.builder();
 
         int uMax = sprite.getWidth();
@@ -64,6 +226,13 @@ public final class ModularItemModel implements IModelGeometry<ModularItemModel>
             builder.add(buildSideQuad(transform, Direction.WEST, tintIndex, color, sprite, u, 0, vMax));
         }
 
+        addFrontAndBackQuads(builder, tintIndex, sprite, transform, color);
+
+        return builder.build();
+    }
+
+    private static void addFrontAndBackQuads(ImmutableList.Builder<BakedQuad> builder, int tintIndex, TextureAtlasSprite sprite,
+            Transformation transform, int color) {
         // front
         builder.add(buildQuad(transform, Direction.NORTH, sprite, tintIndex, color,
                 0, 0, 7.5f / 16f, sprite.getU0(), sprite.getV1(),
@@ -78,8 +247,6 @@ public final class ModularItemModel implements IModelGeometry<ModularItemModel>
                 1, 1, 8.5f / 16f, sprite.getU1(), sprite.getV0(),
                 0, 1, 8.5f / 16f, sprite.getU0(), sprite.getV0()
         ));
-
-        return builder.build();
     }
 
     private static BakedQuad buildSideQuad(Transformation transform, Direction side, int tintIndex,
@@ -206,6 +373,10 @@ public final class ModularItemModel implements IModelGeometry<ModularItemModel>
         Optional.ofNullable(overrideList).ifPresent(ModularOverrideList::clearCache);
     }
 
+    public void clearPreviewCache() {
+        Optional.ofNullable(overrideList).ifPresent(ModularOverrideList::clearPreviewCache);
+    }
+
     @Override
     public Collection<Material> getTextures(IModelConfiguration owner, Function<ResourceLocation, UnbakedModel> modelGetter,
             Set<Pair<String, String>> missingTextureErrors) {
@@ -240,10 +411,9 @@ public final class ModularItemModel implements IModelGeometry<ModularItemModel>
 
         Transformation rotationTransform = modelTransform.getRotation();
         ImmutableMap<ItemTransforms.TransformType, Transformation> transforms = PerspectiveMapWrapper.getTransforms(modelTransform);
-        for (int i = 0; i < moduleModels.size(); i++) {
-            ModuleModel model = moduleModels.get(i);
+        for (ModuleModel model : moduleModels) {
             TextureAtlasSprite sprite = spriteGetter.apply(new Material(TextureAtlas.LOCATION_BLOCKS, model.location));
-            builder.addAll(getQuadsForSprite(i, sprite, rotationTransform, model.tint));
+            builder.addAll(getLayerQuads(model, sprite, rotationTransform));
 
             particle = sprite;
         }
@@ -278,4 +448,35 @@ public final class ModularItemModel implements IModelGeometry<ModularItemModel>
 
         return cameraTransforms;
     }
+
+    private static class LayerKey {
+        private final ResourceLocation location;
+        private final int tint;
+        private final Transformation transform;
+        private final boolean meshed;
+
+        private LayerKey(ResourceLocation location, int tint, Transformation transform, boolean meshed) {
+            this.location = location;
+            this.tint = tint;
+            this.transform = transform;
+            this.meshed = meshed;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            LayerKey layerKey = (LayerKey) o;
+            return tint == layerKey.tint && meshed == layerKey.meshed && location.equals(layerKey.location) && transform.equals(layerKey.transform);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(location, tint, transform, meshed);
+        }
+    }
 }
@@ -43,12 +43,22 @@ public class ModularModelLoader implements IModelLoader<ModularItemModel> {
         shuffle();
         logger.info("Clearing model cache for {} items, let's get bakin'", models.size());
         models.forEach(ModularItemModel::clearCache);
+        ModularItemModel.clearQuadCache();
+    }
+
+    /**
+     * Drops models baked for preview stacks, should be called when a screen that displays previews is closed.
+     */
+    public static void clearPreviewCaches() {
+        shuffle();
+        models.forEach(ModularItemModel::clearPreviewCache);
     }
 
     @Override
     public void onResourceManagerReload(ResourceManager resourceManager) {
         logger.info("Reloading item models, old: {}, new: {}", models.size(), newModels.size());
         shuffle();
+        ModularItemModel.clearQuadCache();
     }
 
     @Override
@@ -2,8 +2,10 @@ package se.mickelus.tetra.client.model;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.renderer.block.model.ItemOverrides;
+import net.minecraft.client.renderer.texture.TextureAtlas;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.client.resources.model.BakedModel;
 import net.minecraft.client.resources.model.Material;
@@ -17,6 +19,7 @@ import net.minecraft.world.level.Level;
 import net.minecraftforge.client.model.IModelConfiguration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import se.mickelus.tetra.ConfigHandler;
 import se.mickelus.tetra.items.modular.IModularItem;
 import se.mickelus.tetra.module.data.ModuleModel;
 
@@ -24,19 +27,44 @@ import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 @ParametersAreNonnullByDefault
 public class ModularOverrideList extends ItemOverrides {
     private static final Logger logger = LogManager.getLogger();
 
+    private static final int maxQueuedBakes = 64;
+
+    // shared by all modular models, bakes are dropped when the queue is full and will be requested again the next time the item renders
+    private static final ThreadPoolExecutor bakeExecutor = new ThreadPoolExecutor(2, 2, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(maxQueuedBakes), new ThreadFactoryBuilder().setNameFormat("tetra-model-baker-%d").setDaemon(true).build());
+
+    static {
+        bakeExecutor.allowCoreThreadTimeOut(true);
+    }
+
     private final Cache<CacheKey, BakedModel> bakedModelCache = CacheBuilder.newBuilder()
             .maximumSize(1000)
             .expireAfterWrite(5, TimeUnit.MINUTES)
             .build();
 
+    // models for preview stacks, kept apart so that previews don't push out models for stacks in use
+    private final Cache<CacheKey, BakedModel> previewModelCache = CacheBuilder.newBuilder()
+            .maximumSize(100)
+            .build();
+
+    // models last resolved for each stack, shown while a new model for the stack is being baked in async mode
+    private final Cache<ItemStack, BakedModel> lastKnownModels = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    private final Set<CacheKey> pendingBakes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger generation = new AtomicInteger();
+
 
     private final ModularItemModel model;
     private final IModelConfiguration owner;
@@ -57,7 +85,14 @@ public class ModularOverrideList extends ItemOverrides {
 
     public void clearCache() {
         logger.debug("Clearing item model cache for " + modelLocation);
+        generation.incrementAndGet();
         bakedModelCache.invalidateAll();
+        previewModelCache.invalidateAll();
+        lastKnownModels.invalidateAll();
+    }
+
+    public void clearPreviewCache() {
+        previewModelCache.invalidateAll();
     }
 
     @Nullable
@@ -68,9 +103,15 @@ public class ModularOverrideList extends ItemOverrides {
 
         if (baseTag != null && !baseTag.isEmpty()) {
             CacheKey key = getCacheKey(stack, entity, originalModel);
+            boolean isPreview = key.data.startsWith(IModularItem.previewPrefix);
+
+            // previews are baked right away as they're only displayed while the player is looking at them
+            if (ConfigHandler.asyncModelBaking.get() && !isPreview) {
+                return resolveAsync(key, originalModel, stack, entity);
+            }
 
             try {
-                result = bakedModelCache.get(key, () -> getOverrideModel(stack, world, entity));
+                result = (isPreview ? previewModelCache : bakedModelCache).get(key, () -> getOverrideModel(stack, world, entity));
             } catch (ExecutionException e) {
                 // do nothing, return original model
                 e.printStackTrace();
@@ -79,6 +120,51 @@ public class ModularOverrideList extends ItemOverrides {
         return result;
     }
 
+    /**
+     * Returns the baked model for the given stack if it's available, otherwise a bake is scheduled and the model last resolved for the stack
+     * (or the original model) is returned in the meantime. Module models are gathered on the calling thread as the stack and entity may
+     * change while the bake is in flight.
+     */
+    private BakedModel resolveAsync(CacheKey key, BakedModel originalModel, ItemStack itemStack, @Nullable LivingEntity entity) {
+        BakedModel result = bakedModelCache.getIfPresent(key);
+        if (result != null) {
+            lastKnownModels.put(itemStack, result);
+            return result;
+        }
+
+        if (pendingBakes.add(key)) {
+            IModularItem item = (IModularItem) itemStack.getItem();
+            List<ModuleModel> models = item.getModels(itemStack, entity);
+            String transformVariant = item.getTransformVariant(itemStack, entity);
+            models.forEach(moduleModel -> ModularItemModel.prepareSprite(spriteGetter.apply(new Material(TextureAtlas.LOCATION_BLOCKS,
+                    moduleModel.location))));
+
+            int bakeGeneration = generation.get();
+            try {
+                bakeExecutor.execute(() -> {
+                    try {
+                        BakedModel baked = model.realBake(models, transformVariant, owner, bakery, spriteGetter, modelTransform,
+                                ItemOverrides.EMPTY, modelLocation);
+
+                        // drop bakes that were started before the cache was cleared, including ones cleared while the result is stored
+                        bakedModelCache.put(key, baked);
+                        if (bakeGeneration != generation.get()) {
+                            bakedModelCache.invalidate(key);
+                        }
+                    } catch (Exception e) {
+                        logger.warn("Failed to bake model for " + modelLocation, e);
+                    } finally {
+                        pendingBakes.remove(key);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                pendingBakes.remove(key);
+            }
+        }
+
+        return Optional.ofNullable(lastKnownModels.getIfPresent(itemStack)).orElse(originalModel);
+    }
+
     protected BakedModel getOverrideModel(ItemStack itemStack, @Nullable Level world, @Nullable LivingEntity entity) {
         IModularItem item = (IModularItem) itemStack.getItem();
 
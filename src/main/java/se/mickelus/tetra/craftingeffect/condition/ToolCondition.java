@@ -19,8 +19,8 @@ public class ToolCondition implements CraftingEffectCondition {
     @Override
     public boolean test(ResourceLocation[] unlocks, ItemStack upgradedStack, String slot, boolean isReplacing, Player player,
             ItemStack[] materials, Map<ToolAction, Integer> tools, Level world, BlockPos pos, BlockState blockState) {
-        for (Map.Entry<ToolAction, Float> req : this.tools.levelMap.entrySet()) {
-            if (!tools.containsKey(req.getKey()) || tools.get(req.getKey()) < req.getValue()) {
+        for (ToolAction tool : this.tools.getValues()) {
+            if (!tools.containsKey(tool) || tools.get(tool) < this.tools.getLevelRaw(tool)) {
                 return false;
             }
         }
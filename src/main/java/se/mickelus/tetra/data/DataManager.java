@@ -42,6 +42,7 @@ import se.mickelus.tetra.module.schematic.RepairDefinition;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ParametersAreNonnullByDefault
 public class DataManager implements DataDistributor {
@@ -91,6 +92,10 @@ public class DataManager implements DataDistributor {
     private final Logger logger = LogManager.getLogger();
     private final DataStore[] dataStores;
 
+    // the latest payload sent for each data store, and the data it was encoded from so that payloads are only encoded once per reload
+    private final Map<String, DataSyncPayload> payloads = new ConcurrentHashMap<>();
+    private final Map<String, Map<ResourceLocation, JsonElement>> payloadSources = new ConcurrentHashMap<>();
+
     public DataManager() {
         instance = this;
 
@@ -133,6 +138,46 @@ public class DataManager implements DataDistributor {
         }
     }
 
+    /**
+     * Called on the client when the server offers data for a data store, cached data is used if available and otherwise the data is
+     * requested from the server.
+     */
+    public void onDataOffered(String directory, String hash) {
+        DataSyncPayload payload = DataSyncCache.read(directory, hash);
+        if (payload != null) {
+            logger.debug("Using cached data for '{}'", directory);
+            onDataRecieved(directory, payload.decode());
+        } else {
+            TetraMod.packetHandler.sendToServer(new DataRequestPacket(directory, hash));
+        }
+    }
+
+    public void onDataRequested(ServerPlayer player, String directory, String hash) {
+        DataSyncPayload payload = payloads.get(directory);
+        if (payload == null) {
+            logger.warn("Player '{}' requested data for '{}', which has not been offered", player.getName().getString(), directory);
+            return;
+        }
+
+        // data may have been reloaded since it was offered, the current payload is sent anyway as it would be offered next
+        if (!payload.getHash().equals(hash)) {
+            logger.debug("Data for '{}' has changed since it was offered to '{}'", directory, player.getName().getString());
+        }
+
+        TetraMod.packetHandler.sendTo(new UpdateDataPacket(directory, payload), player);
+    }
+
+    public void onPayloadRecieved(String directory, byte[] bytes) {
+        DataSyncPayload payload = DataSyncPayload.read(bytes);
+        if (payload == null) {
+            logger.warn("Received malformed data for '{}'", directory);
+            return;
+        }
+
+        DataSyncCache.write(directory, payload);
+        onDataRecieved(directory, payload.decode());
+    }
+
     public void onDataRecieved(String directory, Map<ResourceLocation, String> data) {
         Arrays.stream(dataStores)
                 .filter(dataStore -> dataStore.getDirectory().equals(directory))
@@ -157,13 +202,27 @@ public class DataManager implements DataDistributor {
         return data;
     }
 
+    private DataSyncPayload getPayload(String directory, Map<ResourceLocation, JsonElement> data) {
+        DataSyncPayload payload = payloads.get(directory);
+        if (payload == null || payloadSources.get(directory) != data) {
+            payload = DataSyncPayload.encode(data);
+            payloads.put(directory, payload);
+            payloadSources.put(directory, data);
+        }
+        return payload;
+    }
+
+    /**
+     * Data is offered by hash rather than sent directly, clients that have the data cached from an earlier connection then don't have to
+     * wait for it to be transferred.
+     */
     @Override
     public void sendToAll(String directory, Map<ResourceLocation, JsonElement> data) {
-        TetraMod.packetHandler.sendToAllPlayers(new UpdateDataPacket(directory, data));
+        TetraMod.packetHandler.sendToAllPlayers(new DataOfferPacket(directory, getPayload(directory, data).getHash()));
     }
 
     @Override
     public void sendToPlayer(ServerPlayer player, String directory, Map<ResourceLocation, JsonElement> data) {
-        TetraMod.packetHandler.sendTo(new UpdateDataPacket(directory, data), player);
+        TetraMod.packetHandler.sendTo(new DataOfferPacket(directory, getPayload(directory, data).getHash()), player);
     }
 }
@@ -0,0 +1,42 @@
+package se.mickelus.tetra.data;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.player.Player;
+import se.mickelus.mutil.network.AbstractPacket;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Sent to clients to offer the data of a data store by hash, clients that don't have data with that hash cached request it from the
+ * server using a {@link DataRequestPacket}.
+ */
+@ParametersAreNonnullByDefault
+public class DataOfferPacket extends AbstractPacket {
+    private String directory;
+    private String hash;
+
+    public DataOfferPacket() {
+    }
+
+    public DataOfferPacket(String directory, String hash) {
+        this.directory = directory;
+        this.hash = hash;
+    }
+
+    @Override
+    public void toBytes(FriendlyByteBuf buffer) {
+        buffer.writeUtf(directory);
+        buffer.writeUtf(hash);
+    }
+
+    @Override
+    public void fromBytes(FriendlyByteBuf buffer) {
+        directory = buffer.readUtf();
+        hash = buffer.readUtf();
+    }
+
+    @Override
+    public void handle(Player player) {
+        DataManager.instance.onDataOffered(directory, hash);
+    }
+}
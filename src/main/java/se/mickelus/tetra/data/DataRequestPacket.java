@@ -0,0 +1,44 @@
+package se.mickelus.tetra.data;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import se.mickelus.mutil.network.AbstractPacket;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Sent by clients to request the data of a data store that was offered by the server, but which the client didn't have cached.
+ */
+@ParametersAreNonnullByDefault
+public class DataRequestPacket extends AbstractPacket {
+    private String directory;
+    private String hash;
+
+    public DataRequestPacket() {
+    }
+
+    public DataRequestPacket(String directory, String hash) {
+        this.directory = directory;
+        this.hash = hash;
+    }
+
+    @Override
+    public void toBytes(FriendlyByteBuf buffer) {
+        buffer.writeUtf(directory);
+        buffer.writeUtf(hash);
+    }
+
+    @Override
+    public void fromBytes(FriendlyByteBuf buffer) {
+        directory = buffer.readUtf();
+        hash = buffer.readUtf();
+    }
+
+    @Override
+    public void handle(Player player) {
+        if (player instanceof ServerPlayer) {
+            DataManager.instance.onDataRequested((ServerPlayer) player, directory, hash);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package se.mickelus.tetra.data;
+
+import net.minecraftforge.fml.loading.FMLPaths;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Client side cache of synced data, payloads are stored on disk by data store & hash so that data received from one connection can be
+ * reused by the next connection to a server with the same data. A few payloads are kept per data store to make hopping between servers
+ * with different data cheap, older payloads are removed as new ones are cached.
+ */
+@ParametersAreNonnullByDefault
+public class DataSyncCache {
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final int payloadsPerStore = 8;
+    private static final String suffix = ".bin";
+
+    // directories & hashes are received from the server, so they're checked before being used in paths
+    private static final Pattern directoryPattern = Pattern.compile("[a-z0-9_]+");
+    private static final Pattern hashPattern = Pattern.compile("[0-9a-f]{64}");
+
+    private static Path getDirectory() {
+        return FMLPaths.GAMEDIR.get().resolve("tetra_cache").resolve("data");
+    }
+
+    private static Path getPath(String directory, String hash) {
+        return getDirectory().resolve(directory + "-" + hash + suffix);
+    }
+
+    /**
+     * @return the cached payload for the given store & hash, or null if there is none or if the cached payload doesn't match the hash
+     */
+    @Nullable
+    public static DataSyncPayload read(String directory, String hash) {
+        if (!isValid(directory, hash)) {
+            return null;
+        }
+
+        Path path = getPath(directory, hash);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try {
+            DataSyncPayload payload = DataSyncPayload.read(Files.readAllBytes(path));
+            if (payload != null && payload.getHash().equals(hash)) {
+                // touched so that payloads that are in use are the last to be pruned
+                Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+                return payload;
+            }
+
+            logger.warn("Discarding corrupt cached data for '{}'", directory);
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to read cached data for '{}': {}", directory, e.getMessage());
+        }
+
+        return null;
+    }
+
+    public static void write(String directory, DataSyncPayload payload) {
+        if (!isValid(directory, payload.getHash())) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(getDirectory());
+            Files.write(getPath(directory, payload.getHash()), payload.getBytes());
+            prune(directory);
+        } catch (IOException e) {
+            logger.warn("Failed to cache data for '{}': {}", directory, e.getMessage());
+        }
+    }
+
+    private static boolean isValid(String directory, String hash) {
+        return directoryPattern.matcher(directory).matches() && hashPattern.matcher(hash).matches();
+    }
+
+    private static void prune(String directory) throws IOException {
+        String prefix = directory + "-";
+        try (Stream<Path> paths = Files.list(getDirectory())) {
+            paths.filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .filter(path -> path.getFileName().toString().endsWith(suffix))
+                    .sorted(Comparator.comparing(DataSyncCache::getLastModified).reversed())
+                    .skip(payloadsPerStore)
+                    .forEach(DataSyncCache::delete);
+        }
+    }
+
+    private static long getLastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to remove cached data '{}': {}", path.getFileName(), e.getMessage());
+        }
+    }
+}
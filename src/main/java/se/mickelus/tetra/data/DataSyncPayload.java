@@ -0,0 +1,122 @@
+package se.mickelus.tetra.data;
+
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonElement;
+import net.minecraft.resources.ResourceLocation;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The contents of a data store as it's synced to clients: entries are sorted by location and deflated, and the payload is addressed by a
+ * hash of its uncompressed contents. Identical data always produces the same hash, which lets clients skip the transfer of stores they
+ * already have cached from an earlier connection.
+ */
+@ParametersAreNonnullByDefault
+public class DataSyncPayload {
+    // payloads are received from the server & read from disk, anything that inflates beyond this is rejected rather than read into memory
+    private static final int maxContentSize = 32 * 1024 * 1024;
+
+    private final String hash;
+    private final byte[] bytes;
+
+    private DataSyncPayload(String hash, byte[] bytes) {
+        this.hash = hash;
+        this.bytes = bytes;
+    }
+
+    public static DataSyncPayload encode(Map<ResourceLocation, JsonElement> data) {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(raw)) {
+            // sorted so that the same data always hashes the same, regardless of the order it was loaded in
+            List<Map.Entry<ResourceLocation, JsonElement>> entries = new ArrayList<>(data.entrySet());
+            entries.sort(Map.Entry.comparingByKey(Comparator.comparing(ResourceLocation::toString)));
+
+            out.writeInt(entries.size());
+            for (Map.Entry<ResourceLocation, JsonElement> entry : entries) {
+                out.writeUTF(entry.getKey().toString());
+                byte[] json = entry.getValue().toString().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(json.length);
+                out.write(json);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] content = raw.toByteArray();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new DataSyncPayload(hash(content), compressed.toByteArray());
+    }
+
+    /**
+     * Reads a payload from compressed bytes, e.g. as received from the server or read from the client cache.
+     *
+     * @return the payload, or null if the bytes are not a valid payload
+     */
+    @Nullable
+    public static DataSyncPayload read(byte[] bytes) {
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+            byte[] content = in.readNBytes(maxContentSize + 1);
+            if (content.length > maxContentSize) {
+                return null;
+            }
+
+            return new DataSyncPayload(hash(content), bytes);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public Map<ResourceLocation, String> decode() {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+            int size = in.readInt();
+            Map<ResourceLocation, String> result = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                ResourceLocation location = new ResourceLocation(in.readUTF());
+                int length = in.readInt();
+                if (length < 0 || length > maxContentSize) {
+                    throw new IOException("Invalid entry length " + length + " for " + location);
+                }
+
+                byte[] json = new byte[length];
+                in.readFully(json);
+                result.put(location, new String(json, StandardCharsets.UTF_8));
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String hash(byte[] content) {
+        return Hashing.sha256().hashBytes(content).toString();
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+}
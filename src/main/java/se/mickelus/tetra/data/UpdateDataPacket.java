@@ -1,24 +1,41 @@
 package se.mickelus.tetra.data;
 
-import com.google.gson.JsonElement;
-import net.minecraft.resources.ResourceLocation;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Player;
-import se.mickelus.mutil.data.AbstractUpdateDataPacket;
+import se.mickelus.mutil.network.AbstractPacket;
 
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.Map;
 
+/**
+ * Sent to clients that don't have the offered data for a data store cached, holds a compressed {@link DataSyncPayload}.
+ */
 @ParametersAreNonnullByDefault
-public class UpdateDataPacket extends AbstractUpdateDataPacket {
+public class UpdateDataPacket extends AbstractPacket {
+    private String directory;
+    private byte[] payload;
+
     public UpdateDataPacket() {
     }
 
-    public UpdateDataPacket(String directory, Map<ResourceLocation, JsonElement> data) {
-        super(directory, data);
+    public UpdateDataPacket(String directory, DataSyncPayload payload) {
+        this.directory = directory;
+        this.payload = payload.getBytes();
+    }
+
+    @Override
+    public void toBytes(FriendlyByteBuf buffer) {
+        buffer.writeUtf(directory);
+        buffer.writeByteArray(payload);
+    }
+
+    @Override
+    public void fromBytes(FriendlyByteBuf buffer) {
+        directory = buffer.readUtf();
+        payload = buffer.readByteArray();
     }
 
     @Override
     public void handle(Player player) {
-        DataManager.instance.onDataRecieved(directory, data);
+        DataManager.instance.onPayloadRecieved(directory, payload);
     }
 }
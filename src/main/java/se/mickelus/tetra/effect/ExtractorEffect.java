@@ -68,13 +68,13 @@ public class ExtractorEffect {
 
     private static void breakRecursive(Level world, Player player, ItemModularHandheld item, ItemStack itemStack, Direction direction, BlockPos pos, float refHardness, ToolAction refTool, int remaining) {
         if (remaining > 0) {
-            ServerScheduler.schedule(2, () -> breakInner(world, player, item, itemStack, direction, pos, refHardness, refTool));
+            ServerScheduler.schedule(world, 2, () -> breakInner(world, player, item, itemStack, direction, pos, refHardness, refTool));
         }
         if (remaining > 1) {
-            ServerScheduler.schedule(4, () -> breakOuter(world, player, item, itemStack, direction, pos, refHardness, refTool));
+            ServerScheduler.schedule(world, 4, () -> breakOuter(world, player, item, itemStack, direction, pos, refHardness, refTool));
         }
         if (remaining > 2) {
-            ServerScheduler.schedule(6, () -> {
+            ServerScheduler.schedule(world, 6, () -> {
                 BlockPos offsetPos = pos.relative(direction);
                 if (breakBlock(world, player, item, itemStack, offsetPos, refHardness, refTool)) {
                     breakRecursive(world, player, item, itemStack, direction, offsetPos, refHardness, refTool, remaining - 2);
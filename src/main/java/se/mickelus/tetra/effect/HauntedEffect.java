@@ -49,6 +49,8 @@ public class HauntedEffect {
                                 } else {
                                     module.removeImprovement(itemStack, ItemEffect.hauntedKey);
                                 }
+
+                                IModularItem.updateIdentifier(itemStack);
                             });
 
                     entity.level.playSound(null, entity.blockPosition(), SoundEvents.WITCH_AMBIENT, SoundSource.PLAYERS, 2f, 2);
@@ -48,6 +48,7 @@ import se.mickelus.tetra.items.modular.ItemModularHandheld;
 import se.mickelus.tetra.items.modular.impl.bow.ModularBowItem;
 import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltHelper;
 import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.QuiverInventory;
+import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.ToolbeltInventories;
 import se.mickelus.tetra.properties.PropertyHelper;
 
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -389,7 +390,7 @@ public class ItemEffectHandler {
         if (!event.hasAmmo() && player.getItemInHand(InteractionHand.OFF_HAND).isEmpty()) {
             ItemStack itemStack = ToolbeltHelper.findToolbelt(player);
             if (!itemStack.isEmpty()) {
-                QuiverInventory inventory = new QuiverInventory(itemStack);
+                QuiverInventory inventory = ToolbeltInventories.getQuiver(itemStack);
                 List<Collection<ItemEffect>> effects = inventory.getSlotEffects();
                 int count = CastOptional.cast(event.getBow().getItem(), IModularItem.class)
                         .map(item -> getEffectLevel(event.getBow(), ItemEffect.multishot))
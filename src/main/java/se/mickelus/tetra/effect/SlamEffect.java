@@ -343,7 +343,7 @@ public class SlamEffect extends ChargedAbilityEffect {
                                 double yOffset = targetState.getShape(world, targetPos).bounds().maxY;
                                 BlockPos particlePos = targetPos.immutable();
 
-                                ServerScheduler.schedule(particlePos.distManhattan(new BlockPos(origin)) - 3, () -> {
+                                ServerScheduler.schedule(world, particlePos.distManhattan(new BlockPos(origin)) - 3, () -> {
                                     ((ServerLevel) world).sendParticles(new BlockParticleOption(ParticleTypes.BLOCK, targetState),
                                             particlePos.getX() + 0.5, particlePos.getY() + yOffset, particlePos.getZ() + 0.5,
                                             3, 0, rand.nextGaussian() * 0.1, 0, 0.1);
@@ -234,7 +234,7 @@ public class StrikingEffect {
     }
 
     private static void enqueueBlockBreak(Level world, Player player, ItemStack itemStack, BlockPos pos, BlockState blockState, int delay) {
-        ServerScheduler.schedule(delay, () -> {
+        ServerScheduler.schedule(world, delay, () -> {
             if (EffectHelper.breakBlock(world, player, itemStack, pos, blockState, true)) {
                 EffectHelper.sendEventToPlayer((ServerPlayer) player, 2001, pos, Block.getId(blockState));
             }
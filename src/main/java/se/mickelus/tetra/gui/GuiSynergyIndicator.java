@@ -165,7 +165,7 @@ public class GuiSynergyIndicator extends GuiElement {
             data.effects.getLevelMap().forEach((itemEffect, level) ->
                     result.add(getValueInteger(level, 0) + I18n.get("tetra.stats." + itemEffect.getKey()) + " " + I18n.get("tetra.stats.level_suffix")));
 
-            data.effects.efficiencyMap.forEach((itemEffect, efficiency) ->
+            data.effects.forEachEfficiency((itemEffect, efficiency) ->
                     result.add(getValueDouble(efficiency, 0) + I18n.get("tetra.stats." + itemEffect.getKey()) + " " + I18n.get("tetra.stats.strength_suffix")));
         }
 
@@ -173,7 +173,7 @@ public class GuiSynergyIndicator extends GuiElement {
             data.tools.getLevelMap().forEach((tool, level) ->
                     result.add(getValueInteger(level, 0) + I18n.get("tetra.tool." + tool.name()) + " " + I18n.get("tetra.stats.tier_suffix")));
 
-            data.tools.efficiencyMap.forEach((tool, efficiency) ->
+            data.tools.forEachEfficiency((tool, efficiency) ->
                     result.add(getValueDouble(efficiency, 0) + I18n.get("tetra.tool." + tool.name()) + " " + I18n.get("tetra.stats.efficiency_suffix")));
         }
 
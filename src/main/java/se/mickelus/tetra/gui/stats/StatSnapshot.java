@@ -0,0 +1,126 @@
+package se.mickelus.tetra.gui.stats;
+
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import se.mickelus.tetra.gui.stats.getter.IStatGetter;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Snapshot of stat values captured while a stat panel updates. A panel evaluates the same getters for the same few stacks many times over
+ * (to decide which bars to show, for the bars themselves, their indicators and tooltips), while a snapshot is being captured each value is
+ * only computed once. Values are keyed by the identity of the getter and the stack so the stacks must not change while capturing.
+ * <p>
+ * Outside of a capture values are computed directly from the getter.
+ */
+@ParametersAreNonnullByDefault
+public class StatSnapshot {
+    // only used from the render thread
+    @Nullable
+    private static StatSnapshot current;
+
+    private final Map<Key, Double> values = new HashMap<>();
+
+    private StatSnapshot() {
+    }
+
+    /**
+     * Runs the given update with a snapshot active, nested captures share the outer snapshot.
+     */
+    public static void capture(Runnable update) {
+        if (current != null) {
+            update.run();
+            return;
+        }
+
+        current = new StatSnapshot();
+        try {
+            update.run();
+        } finally {
+            current = null;
+        }
+    }
+
+    public static double getValue(IStatGetter getter, Player player, ItemStack itemStack) {
+        if (current == null) {
+            return getter.getValue(player, itemStack);
+        }
+
+        Key key = new Key(getter, itemStack, null, null);
+        // composite getters resolve their parts through the snapshot while computing, so computeIfAbsent can't be used here
+        Double value = current.values.get(key);
+        if (value == null) {
+            value = getter.getValue(player, itemStack);
+            current.values.put(key, value);
+        }
+        return value;
+    }
+
+    public static double getValue(IStatGetter getter, Player player, ItemStack itemStack, String slot) {
+        if (current == null) {
+            return getter.getValue(player, itemStack, slot);
+        }
+
+        Key key = new Key(getter, itemStack, slot, null);
+        Double value = current.values.get(key);
+        if (value == null) {
+            value = getter.getValue(player, itemStack, slot);
+            current.values.put(key, value);
+        }
+        return value;
+    }
+
+    public static double getValue(IStatGetter getter, Player player, ItemStack itemStack, String slot, String improvement) {
+        if (current == null) {
+            return getter.getValue(player, itemStack, slot, improvement);
+        }
+
+        Key key = new Key(getter, itemStack, slot, improvement);
+        Double value = current.values.get(key);
+        if (value == null) {
+            value = getter.getValue(player, itemStack, slot, improvement);
+            current.values.put(key, value);
+        }
+        return value;
+    }
+
+    private static class Key {
+        private final IStatGetter getter;
+        private final ItemStack itemStack;
+        @Nullable
+        private final String slot;
+        @Nullable
+        private final String improvement;
+
+        public Key(IStatGetter getter, ItemStack itemStack, @Nullable String slot, @Nullable String improvement) {
+            this.getter = getter;
+            this.itemStack = itemStack;
+            this.slot = slot;
+            this.improvement = improvement;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return getter == key.getter
+                    && itemStack == key.itemStack
+                    && Objects.equals(slot, key.slot)
+                    && Objects.equals(improvement, key.improvement);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(getter), System.identityHashCode(itemStack), slot, improvement);
+        }
+    }
+}
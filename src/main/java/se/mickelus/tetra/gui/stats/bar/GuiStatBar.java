@@ -15,6 +15,7 @@ import se.mickelus.mutil.gui.GuiStringSmall;
 import se.mickelus.mutil.gui.impl.GuiHorizontalLayoutGroup;
 import se.mickelus.mutil.util.CastOptional;
 import se.mickelus.tetra.Tooltips;
+import se.mickelus.tetra.gui.stats.StatSnapshot;
 import se.mickelus.tetra.gui.stats.getter.ILabelGetter;
 import se.mickelus.tetra.gui.stats.getter.IStatGetter;
 import se.mickelus.tetra.gui.stats.getter.ITooltipGetter;
@@ -125,13 +126,13 @@ public class GuiStatBar extends GuiStatBase {
         labelString.setVisible(labelKey != null);
 
         if (!previewStack.isEmpty()) {
-            value = statGetter.getValue(player, currentStack);
-            diffValue = statGetter.getValue(player, previewStack);
+            value = StatSnapshot.getValue(statGetter, player, currentStack);
+            diffValue = StatSnapshot.getValue(statGetter, player, previewStack);
 
             tooltip = getCombinedTooltip(player, previewStack);
             extendedTooltip = getCombinedTooltipExtended(player, previewStack);
         } else {
-            value = statGetter.getValue(player, currentStack);
+            value = StatSnapshot.getValue(statGetter, player, currentStack);
 
             if (slot != null) {
                 diffValue = value;
@@ -168,10 +169,10 @@ public class GuiStatBar extends GuiStatBase {
         return CastOptional.cast(itemStack.getItem(), IModularItem.class)
                 .map(item -> {
                     if (improvement != null) {
-                        return statGetter.getValue(player, itemStack, slot, improvement);
+                        return StatSnapshot.getValue(statGetter, player, itemStack, slot, improvement);
                     }
 
-                    return statGetter.getValue(player, itemStack, slot);
+                    return StatSnapshot.getValue(statGetter, player, itemStack, slot);
                 })
                 .orElse(0d);
     }
@@ -8,6 +8,7 @@ import net.minecraft.world.item.ItemStack;
 import se.mickelus.mutil.gui.*;
 import se.mickelus.mutil.util.CastOptional;
 import se.mickelus.tetra.gui.GuiColors;
+import se.mickelus.tetra.gui.stats.StatSnapshot;
 import se.mickelus.tetra.gui.stats.StatsHelper;
 import se.mickelus.tetra.gui.stats.getter.*;
 import se.mickelus.tetra.items.modular.IModularItem;
@@ -71,10 +72,10 @@ public class GuiStatBarIntegrity extends GuiStatBase {
         double diffValue;
 
         if (!previewStack.isEmpty()) {
-            value = statGetter.getValue(player, currentStack);
-            diffValue = statGetter.getValue(player, previewStack);
+            value = StatSnapshot.getValue(statGetter, player, currentStack);
+            diffValue = StatSnapshot.getValue(statGetter, player, previewStack);
         } else {
-            value = statGetter.getValue(player, currentStack);
+            value = StatSnapshot.getValue(statGetter, player, currentStack);
 
             if (slot != null) {
                 diffValue = value;
@@ -104,10 +105,10 @@ public class GuiStatBarIntegrity extends GuiStatBase {
         return CastOptional.cast(itemStack.getItem(), IModularItem.class)
                 .map(item -> {
                     if (improvement != null) {
-                        return statGetter.getValue(player, itemStack, slot, improvement);
+                        return StatSnapshot.getValue(statGetter, player, itemStack, slot, improvement);
                     }
 
-                    return statGetter.getValue(player, itemStack, slot);
+                    return StatSnapshot.getValue(statGetter, player, itemStack, slot);
                 })
                 .orElse(0d);
     }
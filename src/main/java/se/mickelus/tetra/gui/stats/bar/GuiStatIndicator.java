@@ -6,6 +6,7 @@ import net.minecraft.world.item.ItemStack;
 import se.mickelus.mutil.gui.GuiTexture;
 import se.mickelus.tetra.gui.GuiColors;
 import se.mickelus.tetra.gui.GuiTextures;
+import se.mickelus.tetra.gui.stats.StatSnapshot;
 import se.mickelus.tetra.gui.stats.getter.IStatGetter;
 import se.mickelus.tetra.gui.stats.getter.ITooltipGetter;
 
@@ -42,17 +43,17 @@ public class GuiStatIndicator extends GuiTexture {
 
         if (statGetter.shouldShow(player, currentStack, previewStack)) {
             if (!previewStack.isEmpty()) {
-                value = statGetter.getValue(player, currentStack);
-                diffValue = statGetter.getValue(player, previewStack);
+                value = StatSnapshot.getValue(statGetter, player, currentStack);
+                diffValue = StatSnapshot.getValue(statGetter, player, previewStack);
             } else {
-                value = statGetter.getValue(player, currentStack);
+                value = StatSnapshot.getValue(statGetter, player, currentStack);
 
                 if (slot != null) {
                     diffValue = value;
                     if (improvement != null) {
-                        value = value - statGetter.getValue(player, currentStack, slot, improvement);
+                        value = value - StatSnapshot.getValue(statGetter, player, currentStack, slot, improvement);
                     } else {
-                        value = value - statGetter.getValue(player, currentStack, slot);
+                        value = value - StatSnapshot.getValue(statGetter, player, currentStack, slot);
                     }
                 } else {
                     diffValue = value;
@@ -60,7 +61,7 @@ public class GuiStatIndicator extends GuiTexture {
             }
 
 
-            double baseValue = statGetter.getValue(player, ItemStack.EMPTY);
+            double baseValue = StatSnapshot.getValue(statGetter, player, ItemStack.EMPTY);
             setColor(getDiffColor(baseValue, value, diffValue));
             return true;
         }
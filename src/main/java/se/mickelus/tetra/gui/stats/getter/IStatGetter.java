@@ -2,12 +2,13 @@ package se.mickelus.tetra.gui.stats.getter;
 
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
+import se.mickelus.tetra.gui.stats.StatSnapshot;
 
 public interface IStatGetter {
 
     default boolean shouldShow(Player player, ItemStack currentStack, ItemStack previewStack) {
-        double baseValue = getValue(player, ItemStack.EMPTY);
-        return getValue(player, currentStack) > baseValue || getValue(player, previewStack) > baseValue;
+        double baseValue = StatSnapshot.getValue(this, player, ItemStack.EMPTY);
+        return StatSnapshot.getValue(this, player, currentStack) > baseValue || StatSnapshot.getValue(this, player, previewStack) > baseValue;
     }
 
     double getValue(Player player, ItemStack itemStack);
@@ -5,6 +5,7 @@ import net.minecraft.world.entity.ai.attributes.AttributeInstance;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import se.mickelus.mutil.util.CastOptional;
+import se.mickelus.tetra.gui.stats.StatSnapshot;
 import se.mickelus.tetra.items.modular.IModularItem;
 import se.mickelus.tetra.module.ItemModuleMajor;
 import se.mickelus.tetra.properties.AttributeHelper;
@@ -48,7 +49,7 @@ public class StatGetterAttribute implements IStatGetter {
         double baseValue = ignoreBase ? 0 : Optional.ofNullable(player.getAttribute(attribute))
                 .map(AttributeInstance::getBaseValue)
                 .orElse(0d) + offset;
-        return getValue(player, currentStack) != baseValue || getValue(player, previewStack) != baseValue;
+        return StatSnapshot.getValue(this, player, currentStack) != baseValue || StatSnapshot.getValue(this, player, previewStack) != baseValue;
     }
 
     @Override
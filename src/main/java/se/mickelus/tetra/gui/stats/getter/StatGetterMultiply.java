@@ -2,6 +2,7 @@ package se.mickelus.tetra.gui.stats.getter;
 
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
+import se.mickelus.tetra.gui.stats.StatSnapshot;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.Arrays;
@@ -17,21 +18,21 @@ public class StatGetterMultiply implements IStatGetter {
     @Override
     public double getValue(Player player, ItemStack itemStack) {
         return Arrays.stream(statGetters)
-                .mapToDouble(getter -> getter.getValue(player, itemStack))
+                .mapToDouble(getter -> StatSnapshot.getValue(getter, player, itemStack))
                 .reduce(1d, (a, b) -> a * b);
     }
 
     @Override
     public double getValue(Player player, ItemStack itemStack, String slot) {
         return Arrays.stream(statGetters)
-                .map(getter -> getter.getValue(player, itemStack, slot))
+                .map(getter -> StatSnapshot.getValue(getter, player, itemStack, slot))
                 .reduce(1d, (a, b) -> a * b);
     }
 
     @Override
     public double getValue(Player player, ItemStack itemStack, String slot, String improvement) {
         return Arrays.stream(statGetters)
-                .map(getter -> getter.getValue(player, itemStack, slot, improvement))
+                .map(getter -> StatSnapshot.getValue(getter, player, itemStack, slot, improvement))
                 .reduce(1d, (a, b) -> a * b);
     }
 }
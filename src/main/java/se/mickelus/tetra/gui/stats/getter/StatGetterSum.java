@@ -2,6 +2,7 @@ package se.mickelus.tetra.gui.stats.getter;
 
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
+import se.mickelus.tetra.gui.stats.StatSnapshot;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.Arrays;
@@ -23,21 +24,21 @@ public class StatGetterSum implements IStatGetter {
     @Override
     public double getValue(Player player, ItemStack itemStack) {
         return Arrays.stream(statGetters)
-                .mapToDouble(getter -> getter.getValue(player, itemStack))
+                .mapToDouble(getter -> StatSnapshot.getValue(getter, player, itemStack))
                 .sum() + offset;
     }
 
     @Override
     public double getValue(Player player, ItemStack itemStack, String slot) {
         return Arrays.stream(statGetters)
-                .mapToDouble(getter -> getter.getValue(player, itemStack, slot))
+                .mapToDouble(getter -> StatSnapshot.getValue(getter, player, itemStack, slot))
                 .sum() + offset;
     }
 
     @Override
     public double getValue(Player player, ItemStack itemStack, String slot, String improvement) {
         return Arrays.stream(statGetters)
-                .mapToDouble(getter -> getter.getValue(player, itemStack, slot, improvement))
+                .mapToDouble(getter -> StatSnapshot.getValue(getter, player, itemStack, slot, improvement))
                 .sum() + offset;
     }
 }
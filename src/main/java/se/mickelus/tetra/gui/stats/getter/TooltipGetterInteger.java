@@ -3,6 +3,7 @@ package se.mickelus.tetra.gui.stats.getter;
 import net.minecraft.client.resources.language.I18n;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
+import se.mickelus.tetra.gui.stats.StatSnapshot;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -29,9 +30,9 @@ public class TooltipGetterInteger implements ITooltipGetter {
     @Override
     public String getTooltipBase(Player player, ItemStack itemStack) {
         if (absolute) {
-            return I18n.get(localizationKey, Math.round(Math.abs(statGetter.getValue(player, itemStack))));
+            return I18n.get(localizationKey, Math.round(Math.abs(StatSnapshot.getValue(statGetter, player, itemStack))));
         }
-        return I18n.get(localizationKey, Math.round(statGetter.getValue(player, itemStack)));
+        return I18n.get(localizationKey, Math.round(StatSnapshot.getValue(statGetter, player, itemStack)));
     }
 
     @Override
@@ -3,6 +3,7 @@ package se.mickelus.tetra.gui.stats.getter;
 import net.minecraft.client.resources.language.I18n;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
+import se.mickelus.tetra.gui.stats.StatSnapshot;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -29,7 +30,7 @@ public class TooltipGetterMultiValue implements ITooltipGetter {
     public String getTooltipBase(Player player, ItemStack itemStack) {
         Object[] values = new String[statGetter.length];
         for (int i = 0; i < statGetter.length; i++) {
-            values[i] = formatters[i].get(statGetter[i].getValue(player, itemStack));
+            values[i] = formatters[i].get(StatSnapshot.getValue(statGetter[i], player, itemStack));
         }
         return I18n.get(localizationKey, values);
     }
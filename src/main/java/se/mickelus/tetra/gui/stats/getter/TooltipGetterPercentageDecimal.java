@@ -3,6 +3,7 @@ package se.mickelus.tetra.gui.stats.getter;
 import net.minecraft.client.resources.language.I18n;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
+import se.mickelus.tetra.gui.stats.StatSnapshot;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -20,7 +21,7 @@ public class TooltipGetterPercentageDecimal implements ITooltipGetter {
 
     @Override
     public String getTooltipBase(Player player, ItemStack itemStack) {
-        return I18n.get(localizationKey, String.format("%.1f%%", statGetter.getValue(player, itemStack)));
+        return I18n.get(localizationKey, String.format("%.1f%%", StatSnapshot.getValue(statGetter, player, itemStack)));
     }
 
     @Override
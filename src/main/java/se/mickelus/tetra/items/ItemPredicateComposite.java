@@ -14,6 +14,10 @@ public class ItemPredicateComposite extends ItemPredicate {
         this.predicates = predicates;
     }
 
+    public ItemPredicate[] getPredicates() {
+        return predicates;
+    }
+
     @Override
     public boolean matches(ItemStack item) {
         return Arrays.stream(predicates).anyMatch(predicate -> predicate.matches(item));
@@ -1,7 +1,8 @@
 package se.mickelus.tetra.items.modular;
 
-import com.google.common.cache.Cache;
 import com.google.common.collect.*;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.resources.language.I18n;
@@ -49,7 +50,6 @@ import se.mickelus.tetra.properties.AttributeHelper;
 
 import javax.annotation.Nullable;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -72,6 +72,7 @@ public interface IModularItem {
     };
 
     String identifierKey = "id";
+    String previewPrefix = "preview:";
 
     String repairCountKey = "repairCount";
 
@@ -81,12 +82,106 @@ public interface IModularItem {
     String honeAvailableKey = "honing_available";
     String honeCountKey = "honing_count";
 
+    /**
+     * Updates the identifier of the given itemstack, should be called each time the modules, variants, improvements, tweaks or enchantments
+     * of the item changes. Identifiers are derived from the content of the stack so that identical builds share identifiers, and thereby
+     * share cached data & models.
+     *
+     * @param itemStack A modular itemstack
+     */
     static void updateIdentifier(ItemStack itemStack) {
-        updateIdentifier(itemStack.getOrCreateTag());
+        if (itemStack.getItem() instanceof IModularItem) {
+            CompoundTag tag = itemStack.getOrCreateTag();
+            tag.putString(identifierKey, getContentIdentifier((IModularItem) itemStack.getItem(), tag));
+        } else {
+            updateIdentifier(itemStack.getOrCreateTag());
+        }
+    }
+
+    /**
+     * Updates the identifier of the given hypothetical itemstack, e.g. a preview of the outcome of a schematic. Data derived from preview stacks
+     * is cached separately from data for stacks in use, see {@link ItemDataCache}.
+     *
+     * @param itemStack A modular itemstack
+     */
+    static void updatePreviewIdentifier(ItemStack itemStack) {
+        if (itemStack.getItem() instanceof IModularItem) {
+            CompoundTag tag = itemStack.getOrCreateTag();
+            tag.putString(identifierKey, previewPrefix + getContentIdentifier((IModularItem) itemStack.getItem(), tag));
+        }
     }
 
+    /**
+     * Fallback for when the item is not known, derives the identifier from all entries in the given tag.
+     *
+     * @param nbt The tag of a modular itemstack
+     */
     static void updateIdentifier(CompoundTag nbt) {
-        nbt.putString(identifierKey, UUID.randomUUID().toString());
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        nbt.getAllKeys().stream()
+                .filter(key -> !identifierKey.equals(key))
+                .sorted()
+                .forEach(key -> putHashEntry(hasher, key, String.valueOf(nbt.get(key))));
+
+        nbt.putString(identifierKey, hasher.hash().toString());
+    }
+
+    /**
+     * Derives an identifier from the parts of the tag that data is derived from: the modules in each slot of the item, their variants,
+     * the improvements & tweaks in each slot and enchantments. Volatile data such as damage, honing and settling progress is not part of
+     * the identifier.
+     *
+     * @param item The modular item
+     * @param tag  The tag of an itemstack for the given item
+     * @return A hex string identifying the content of the tag
+     */
+    static String getContentIdentifier(IModularItem item, CompoundTag tag) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        hasher.putUnencodedChars(String.valueOf(item.getItem().getRegistryName()));
+
+        String[] majorModuleKeys = item.getMajorModuleKeys();
+        String[] minorModuleKeys = item.getMinorModuleKeys();
+        putSlotHashEntries(hasher, tag, majorModuleKeys);
+        putSlotHashEntries(hasher, tag, minorModuleKeys);
+
+        // improvements and tweaks are stored as "slot:key"
+        tag.getAllKeys().stream()
+                .filter(key -> key.indexOf(':') > 0)
+                .filter(key -> {
+                    String slot = key.substring(0, key.indexOf(':'));
+                    return ArrayUtils.contains(majorModuleKeys, slot) || ArrayUtils.contains(minorModuleKeys, slot);
+                })
+                .sorted()
+                .forEach(key -> putHashEntry(hasher, key, Integer.toString(tag.getInt(key))));
+
+        if (tag.contains("Enchantments")) {
+            putHashEntry(hasher, "Enchantments", String.valueOf(tag.get("Enchantments")));
+        }
+
+        if (tag.contains("EnchantmentMapping")) {
+            putHashEntry(hasher, "EnchantmentMapping", String.valueOf(tag.get("EnchantmentMapping")));
+        }
+
+        return hasher.hash().toString();
+    }
+
+    private static void putSlotHashEntries(Hasher hasher, CompoundTag tag, String[] slots) {
+        for (String slot : slots) {
+            String moduleKey = tag.getString(slot);
+            if (!moduleKey.isEmpty()) {
+                putHashEntry(hasher, slot, moduleKey);
+
+                String variantKey = moduleKey + "_material";
+                putHashEntry(hasher, variantKey, tag.getString(variantKey));
+            }
+        }
+    }
+
+    private static void putHashEntry(Hasher hasher, String key, String value) {
+        hasher.putUnencodedChars(key)
+                .putChar('=')
+                .putUnencodedChars(value)
+                .putChar(';');
     }
 
     /**
@@ -218,20 +313,23 @@ public interface IModularItem {
         return null;
     }
 
+    /**
+     * Returns the key used for caching data derived from the given itemstack. Stacks that lack an identifier, e.g. ones created from loot
+     * tables or commands, have their identifier derived from the content of the stack on each call.
+     */
     default String getDataCacheKey(ItemStack itemStack) {
-        return Optional.ofNullable(getIdentifier(itemStack))
-                .filter(id -> !id.isEmpty())
-                .orElseGet(() -> itemStack.hasTag() ? itemStack.getTag().toString() : "INVALID-" + getItem().getRegistryName());
+        String identifier = getIdentifier(itemStack);
+        if (identifier != null && !identifier.isEmpty()) {
+            return identifier;
+        }
+
+        return itemStack.hasTag() ? getContentIdentifier(this, itemStack.getTag()) : "INVALID-" + getItem().getRegistryName();
     }
 
     default String getModelCacheKey(ItemStack itemStack, LivingEntity entity) {
-        return Optional.ofNullable(getIdentifier(itemStack))
-                .filter(id -> !id.isEmpty())
-                .orElseGet(() -> itemStack.hasTag() ? itemStack.getTag().toString() : "INVALID-" + getItem().getRegistryName());
+        return getDataCacheKey(itemStack);
     }
 
-    void clearCaches();
-
     String[] getMajorModuleKeys();
 
     String[] getMinorModuleKeys();
@@ -242,50 +340,45 @@ public interface IModularItem {
         return ArrayUtils.contains(getRequiredModules(), moduleSlot);
     }
 
-    default Collection<ItemModule> getAllModules(ItemStack stack) {
-        CompoundTag stackTag = stack.getTag();
+    /**
+     * Returns a compiled snapshot of the modules present on the given itemstack. Layouts are cached in the {@link ItemDataCache} by the data
+     * cache key of the stack.
+     *
+     * @param itemStack The itemstack for the modular item
+     * @return The module layout for the given itemstack
+     */
+    default ModuleLayout getModuleLayout(ItemStack itemStack) {
+        if (!itemStack.hasTag()) {
+            return ModuleLayout.compile(this, itemStack);
+        }
 
-        if (stackTag != null) {
-            return Stream.concat(Arrays.stream(getMajorModuleKeys()), Arrays.stream(getMinorModuleKeys()))
-                    .map(stackTag::getString)
-                    .map(ItemUpgradeRegistry.instance::getModule)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+        String identifier = getDataCacheKey(itemStack);
+
+        ItemDataCache.Entry entry = ItemDataCache.instance.getEntry(this, identifier);
+        ModuleLayout layout = entry.layout;
+        if (layout == null || !layout.matches(itemStack.getTag())) {
+            // the modules of the stack have changed without the identifier being updated, all data derived from the old layout is outdated
+            if (layout != null) {
+                entry = ItemDataCache.instance.resetEntry(this, identifier);
+            }
+
+            layout = ModuleLayout.compile(this, itemStack);
+            entry.layout = layout;
         }
 
-        return Collections.emptyList();
+        return layout;
     }
 
-    default ItemModuleMajor[] getMajorModules(ItemStack itemStack) {
-        String[] majorModuleKeys = getMajorModuleKeys();
-        ItemModuleMajor[] modules = new ItemModuleMajor[majorModuleKeys.length];
-        CompoundTag tag = itemStack.getTag();
+    default Collection<ItemModule> getAllModules(ItemStack stack) {
+        return getModuleLayout(stack).getAllModules();
+    }
 
-        if (tag != null) {
-            for (int i = 0; i < majorModuleKeys.length; i++) {
-                String moduleName = tag.getString(majorModuleKeys[i]);
-                ItemModule module = ItemUpgradeRegistry.instance.getModule(moduleName);
-                if (module instanceof ItemModuleMajor) {
-                    modules[i] = (ItemModuleMajor) module;
-                }
-            }
-        }
-        return modules;
+    default ItemModuleMajor[] getMajorModules(ItemStack itemStack) {
+        return getModuleLayout(itemStack).getMajorModules();
     }
 
     default ItemModule[] getMinorModules(ItemStack itemStack) {
-        String[] minorModuleKeys = getMinorModuleKeys();
-        ItemModule[] modules = new ItemModule[minorModuleKeys.length];
-        CompoundTag tag = itemStack.getTag();
-
-        if (tag != null) {
-            for (int i = 0; i < minorModuleKeys.length; i++) {
-                String moduleName = tag.getString(minorModuleKeys[i]);
-                ItemModule module = ItemUpgradeRegistry.instance.getModule(moduleName);
-                modules[i] = module;
-            }
-        }
-        return modules;
+        return getModuleLayout(itemStack).getMinorModules();
     }
 
     default int getNumMajorModules() {
@@ -309,8 +402,7 @@ public interface IModularItem {
     }
 
     default boolean hasModule(ItemStack itemStack, ItemModule module) {
-        return getAllModules(itemStack).stream()
-                .anyMatch(module::equals);
+        return getModuleLayout(itemStack).hasModule(module);
     }
 
     default ItemModule getModuleFromSlot(ItemStack itemStack, String slot) {
@@ -692,6 +784,8 @@ public interface IModularItem {
                         }
 
                     });
+
+            updateIdentifier(itemStack);
         }
     }
 
@@ -770,16 +864,15 @@ public interface IModularItem {
         return AttributeHelper.fixIdentifiers(modifiers);
     }
 
-    Cache<String, Multimap<Attribute, AttributeModifier>> getAttributeModifierCache();
-
     default Multimap<Attribute, AttributeModifier> getAttributeModifiersCached(ItemStack itemStack) {
-        try {
-            return getAttributeModifierCache().get(getDataCacheKey(itemStack),
-                    () -> Optional.ofNullable(getAttributeModifiersCollapsed(itemStack)).orElseGet(ImmutableMultimap::of));
-        } catch (ExecutionException e) {
-            e.printStackTrace();
-            return getAttributeModifiersCollapsed(itemStack);
+        ItemDataCache.Entry entry = ItemDataCache.instance.getEntry(this, getDataCacheKey(itemStack));
+        Multimap<Attribute, AttributeModifier> result = entry.attributes;
+        if (result == null) {
+            result = Optional.ofNullable(getAttributeModifiersCollapsed(itemStack)).orElseGet(ImmutableMultimap::of);
+            entry.attributes = result;
         }
+
+        return result;
     }
 
     default double getAttributeValue(ItemStack itemStack, Attribute attribute) {
@@ -808,19 +901,18 @@ public interface IModularItem {
                         Arrays.stream(getSynergyData(itemStack))
                                 .map(synergy -> synergy.effects))
                 .filter(Objects::nonNull)
-                .reduce(null, EffectData::merge);
+                .collect(Collectors.collectingAndThen(Collectors.toList(), EffectData::merge));
     }
 
-    Cache<String, EffectData> getEffectDataCache();
-
     default EffectData getEffectDataCached(ItemStack itemStack) {
-        try {
-            return getEffectDataCache().get(getDataCacheKey(itemStack),
-                    () -> Optional.ofNullable(getEffectData(itemStack)).orElseGet(EffectData::new));
-        } catch (ExecutionException e) {
-            e.printStackTrace();
-            return Optional.ofNullable(getEffectData(itemStack)).orElseGet(EffectData::new);
+        ItemDataCache.Entry entry = ItemDataCache.instance.getEntry(this, getDataCacheKey(itemStack));
+        EffectData result = entry.effects;
+        if (result == null) {
+            result = Optional.ofNullable(getEffectData(itemStack)).orElseGet(EffectData::new).freeze();
+            entry.effects = result;
         }
+
+        return result;
     }
 
     default ItemProperties getProperties(ItemStack itemStack) {
@@ -834,15 +926,15 @@ public interface IModularItem {
                 .reduce(new ItemProperties(), ItemProperties::merge);
     }
 
-    Cache<String, ItemProperties> getPropertyCache();
-
     default ItemProperties getPropertiesCached(ItemStack itemStack) {
-        try {
-            return getPropertyCache().get(getDataCacheKey(itemStack), () -> getProperties(itemStack));
-        } catch (ExecutionException e) {
-            e.printStackTrace();
-            return getProperties(itemStack);
+        ItemDataCache.Entry entry = ItemDataCache.instance.getEntry(this, getDataCacheKey(itemStack));
+        ItemProperties result = entry.properties;
+        if (result == null) {
+            result = getProperties(itemStack);
+            entry.properties = result;
         }
+
+        return result;
     }
 
     default int getEffectLevel(ItemStack itemStack, ItemEffect effect) {
@@ -870,10 +962,7 @@ public interface IModularItem {
     }
 
     default ImprovementData[] getImprovements(ItemStack itemStack) {
-        return Arrays.stream(getMajorModules(itemStack))
-                .filter(Objects::nonNull)
-                .flatMap(module -> Arrays.stream(module.getImprovements(itemStack)))
-                .toArray(ImprovementData[]::new);
+        return getModuleLayout(itemStack).getImprovements();
     }
 
     default String getDisplayNamePrefixes(ItemStack itemStack) {
@@ -882,8 +971,7 @@ public interface IModularItem {
                                 .map(improvement -> improvement.key + ".prefix")
                                 .filter(I18n::exists)
                                 .map(I18n::get),
-                        getAllModules(itemStack).stream()
-                                .sorted(Comparator.comparing(module -> module.getItemPrefixPriority(itemStack)))
+                        getModuleLayout(itemStack).getModulesByPrefixPriority().stream()
                                 .map(module -> module.getItemPrefix(itemStack))
                                 .filter(Objects::nonNull)
                 )
@@ -907,8 +995,7 @@ public interface IModularItem {
                 .orElse(null);
 
         if (name == null) {
-            name = getAllModules(itemStack).stream()
-                    .sorted(Comparator.comparing(module -> module.getItemNamePriority(itemStack)))
+            name = getModuleLayout(itemStack).getModulesByNamePriority().stream()
                     .map(module -> module.getItemName(itemStack))
                     .filter(Objects::nonNull)
                     .findFirst().orElse("");
@@ -920,23 +1007,38 @@ public interface IModularItem {
 
     SynergyData[] getAllSynergyData(ItemStack itemStack);
 
+    /**
+     * Returns the synergies that apply to the given itemstack. Synergies are narrowed down through a {@link SynergyIndex} before being
+     * matched, the result is cached per item identifier.
+     */
     default SynergyData[] getSynergyData(ItemStack itemStack) {
         SynergyData[] synergies = getAllSynergyData(itemStack);
         if (synergies.length > 0) {
-            ItemModule[] modules = getAllModules(itemStack).stream()
+            ModuleLayout layout = getModuleLayout(itemStack);
+            ItemDataCache.Entry entry = ItemDataCache.instance.getEntry(this, getDataCacheKey(itemStack));
+            SynergyData[] result = entry.synergies;
+            if (result == null) {
+                result = getSynergyData(itemStack, layout, SynergyIndex.of(synergies).getCandidates(synergies, layout));
+                entry.synergies = result;
+            }
+
+            return result;
+        }
+        return new SynergyData[0];
+    }
+
+    private SynergyData[] getSynergyData(ItemStack itemStack, ModuleLayout layout, SynergyData[] synergies) {
+        if (synergies.length > 0) {
+            ItemModule[] modules = layout.getAllModules().stream()
                     .sorted(Comparator.comparing(ItemModule::getUnlocalizedName))
                     .toArray(ItemModule[]::new);
 
-            String[] variantKeys = getAllModules(itemStack).stream()
-                    .map(module -> module.getVariantData(itemStack))
+            String[] variantKeys = Arrays.stream(layout.getVariants())
                     .map(data -> data.key)
                     .sorted()
                     .toArray(String[]::new);
 
-            String[] improvements = Arrays.stream(getMajorModules(itemStack))
-                    .filter(Objects::nonNull)
-                    .map(module -> module.getImprovements(itemStack))
-                    .flatMap(Arrays::stream)
+            String[] improvements = Arrays.stream(layout.getImprovements())
                     .map(data -> data.key)
                     .sorted()
                     .toArray(String[]::new);
@@ -1059,8 +1161,7 @@ public interface IModularItem {
 
     @OnlyIn(Dist.CLIENT)
     default ImmutableList<ModuleModel> getModels(ItemStack itemStack, @Nullable LivingEntity entity) {
-        return getAllModules(itemStack).stream()
-                .sorted(Comparator.comparing(ItemModule::getRenderLayer))
+        return getModuleLayout(itemStack).getModulesByRenderLayer().stream()
                 .flatMap(itemModule -> Arrays.stream(itemModule.getModels(itemStack)))
                 .filter(Objects::nonNull)
                 .collect(Collectors.collectingAndThen(Collectors.toList(), ImmutableList::copyOf));
@@ -0,0 +1,156 @@
+package se.mickelus.tetra.items.modular;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Multimap;
+import net.minecraft.world.entity.ai.attributes.Attribute;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import se.mickelus.tetra.ConfigHandler;
+import se.mickelus.tetra.data.DataManager;
+import se.mickelus.tetra.module.data.EffectData;
+import se.mickelus.tetra.module.data.ItemProperties;
+import se.mickelus.tetra.module.data.SynergyData;
+import se.mickelus.tetra.module.data.ToolData;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared cache for data derived from the modules of modular items, one entry per item identifier holds the module layout, attributes, tool
+ * data, effect data, properties and active synergies for that item. Entries are stamped with the generation of the data they were derived
+ * from, reloading module related data bumps the generation which causes outdated entries to be replaced as they are accessed rather than
+ * dropping the whole cache at once.
+ * <p>
+ * Hypothetical stacks such as the previews shown in the workbench have identifiers prefixed with {@link IModularItem#previewPrefix}, these
+ * are kept in a separate short-lived cache so that they don't push out entries for stacks that are actually in use. Previews that are
+ * identical to a stack in use share the entry of that stack.
+ */
+@ParametersAreNonnullByDefault
+public class ItemDataCache {
+    private static final Logger logger = LogManager.getLogger();
+
+    public static ItemDataCache instance;
+
+    private final Cache<String, Entry> cache;
+    private final Cache<String, Entry> previewCache = CacheBuilder.newBuilder()
+            .maximumSize(500)
+            .build();
+
+    private volatile int generation = 0;
+    private final AtomicLong staleCount = new AtomicLong();
+
+    public ItemDataCache() {
+        instance = this;
+
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(ConfigHandler.itemDataCacheSize.get())
+                .recordStats()
+                .build();
+
+        DataManager.instance.moduleData.onReload(this::nextGeneration);
+        DataManager.instance.synergyData.onReload(this::nextGeneration);
+    }
+
+    private void nextGeneration() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Moving item data cache to generation {}, {} stale entries replaced, {}", generation + 1, staleCount.get(), getStats());
+        }
+        generation++;
+    }
+
+    /**
+     * Returns the cache entry for the given item & key, a new empty entry is created if there is no entry present or if the present entry
+     * is outdated.
+     *
+     * @param item The modular item
+     * @param key  A key identifying the data of an itemstack, typically the identifier of the stack
+     * @return A cache entry, individual values of the entry are null until they have been computed
+     */
+    public Entry getEntry(IModularItem item, String key) {
+        if (key.startsWith(IModularItem.previewPrefix)) {
+            return getPreviewEntry(item, key);
+        }
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null || entry.generation != generation || entry.item != item) {
+            if (entry != null) {
+                staleCount.incrementAndGet();
+            }
+
+            entry = new Entry(item, generation);
+            cache.put(key, entry);
+        }
+
+        return entry;
+    }
+
+    private Entry getPreviewEntry(IModularItem item, String key) {
+        Entry entry = cache.getIfPresent(key.substring(IModularItem.previewPrefix.length()));
+        if (entry != null && entry.generation == generation && entry.item == item) {
+            return entry;
+        }
+
+        entry = previewCache.getIfPresent(key);
+        if (entry == null || entry.generation != generation || entry.item != item) {
+            entry = new Entry(item, generation);
+            previewCache.put(key, entry);
+        }
+
+        return entry;
+    }
+
+    /**
+     * Replaces the entry for the given key with a new empty entry, used when the data of a stack is known to have changed without the
+     * identifier being updated.
+     */
+    public Entry resetEntry(IModularItem item, String key) {
+        Entry entry = new Entry(item, generation);
+        (key.startsWith(IModularItem.previewPrefix) ? previewCache : cache).put(key, entry);
+        staleCount.incrementAndGet();
+        return entry;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        previewCache.invalidateAll();
+    }
+
+    /**
+     * Drops all entries for preview stacks, should be called when a screen that displays previews is closed.
+     */
+    public void clearPreviews() {
+        previewCache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long getStaleCount() {
+        return staleCount.get();
+    }
+
+    public long getSize() {
+        return cache.size();
+    }
+
+    public static class Entry {
+        final IModularItem item;
+        final int generation;
+
+        volatile ModuleLayout layout;
+        volatile Multimap<Attribute, AttributeModifier> attributes;
+        volatile ToolData tools;
+        volatile EffectData effects;
+        volatile ItemProperties properties;
+        volatile SynergyData[] synergies;
+
+        Entry(IModularItem item, int generation) {
+            this.item = item;
+            this.generation = generation;
+        }
+    }
+}
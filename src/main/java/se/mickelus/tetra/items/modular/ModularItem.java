@@ -1,15 +1,10 @@
 package se.mickelus.tetra.items.modular;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.collect.Multimap;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.TextComponent;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
-import net.minecraft.world.entity.ai.attributes.Attribute;
-import net.minecraft.world.entity.ai.attributes.AttributeModifier;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
@@ -20,10 +15,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import se.mickelus.tetra.ConfigHandler;
 import se.mickelus.tetra.compat.botania.ManaRepair;
-import se.mickelus.tetra.data.DataManager;
 import se.mickelus.tetra.items.TetraItem;
-import se.mickelus.tetra.module.data.EffectData;
-import se.mickelus.tetra.module.data.ItemProperties;
 import se.mickelus.tetra.module.data.SynergyData;
 import se.mickelus.tetra.module.data.ToolData;
 import se.mickelus.tetra.properties.IToolProvider;
@@ -31,31 +23,14 @@ import se.mickelus.tetra.properties.IToolProvider;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public abstract class ModularItem extends TetraItem implements IModularItem, IToolProvider {
     public static final UUID attackDamageModifier = Item.BASE_ATTACK_DAMAGE_UUID;
     public static final UUID attackSpeedModifier = Item.BASE_ATTACK_SPEED_UUID;
     private static final Logger logger = LogManager.getLogger();
-    private final Cache<String, Multimap<Attribute, AttributeModifier>> attributeCache = CacheBuilder.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .build();
-    private final Cache<String, ToolData> toolCache = CacheBuilder.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .build();
-    private final Cache<String, EffectData> effectCache = CacheBuilder.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .build();
-    private final Cache<String, ItemProperties> propertyCache = CacheBuilder.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .build();
     protected int honeBase = 450;
     protected int honeIntegrityMultiplier = 200;
     // static marker for item, denoting if it can progress towards being honed
@@ -69,16 +44,6 @@ public abstract class ModularItem extends TetraItem implements IModularItem, ITo
 
     public ModularItem(Properties properties) {
         super(properties);
-
-        DataManager.instance.moduleData.onReload(this::clearCaches);
-    }
-
-    public void clearCaches() {
-        logger.debug("Clearing item data caches for {}...", getRegistryName());
-        attributeCache.invalidateAll();
-        toolCache.invalidateAll();
-        effectCache.invalidateAll();
-        propertyCache.invalidateAll();
     }
 
     @Override
@@ -111,25 +76,6 @@ public abstract class ModularItem extends TetraItem implements IModularItem, ITo
         return canHone;
     }
 
-    @Override
-    public Cache<String, Multimap<Attribute, AttributeModifier>> getAttributeModifierCache() {
-        return attributeCache;
-    }
-
-    @Override
-    public Cache<String, EffectData> getEffectDataCache() {
-        return effectCache;
-    }
-
-    @Override
-    public Cache<String, ItemProperties> getPropertyCache() {
-        return propertyCache;
-    }
-
-    public Cache<String, ToolData> getToolDataCache() {
-        return toolCache;
-    }
-
     @Override
     public Item getItem() {
         return this;
@@ -142,13 +88,14 @@ public abstract class ModularItem extends TetraItem implements IModularItem, ITo
 
     @Override
     public ToolData getToolData(ItemStack itemStack) {
-        try {
-            return getToolDataCache().get(getDataCacheKey(itemStack),
-                    () -> Optional.ofNullable(getToolDataRaw(itemStack)).orElseGet(ToolData::new));
-        } catch (ExecutionException e) {
-            e.printStackTrace();
-            return Optional.ofNullable(getToolDataRaw(itemStack)).orElseGet(ToolData::new);
+        ItemDataCache.Entry entry = ItemDataCache.instance.getEntry(this, getDataCacheKey(itemStack));
+        ToolData result = entry.tools;
+        if (result == null) {
+            result = Optional.ofNullable(getToolDataRaw(itemStack)).orElseGet(ToolData::new).freeze();
+            entry.tools = result;
         }
+
+        return result;
     }
 
     /**
@@ -165,7 +112,7 @@ public abstract class ModularItem extends TetraItem implements IModularItem, ITo
                         Arrays.stream(getSynergyData(itemStack))
                                 .map(synergy -> synergy.tools))
                 .filter(Objects::nonNull)
-                .reduce(null, ToolData::merge);
+                .collect(Collectors.collectingAndThen(Collectors.toList(), ToolData::merge));
     }
 
     @Override
@@ -0,0 +1,193 @@
+package se.mickelus.tetra.items.modular;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.ItemStack;
+import se.mickelus.tetra.module.ItemModule;
+import se.mickelus.tetra.module.ItemModuleMajor;
+import se.mickelus.tetra.module.ItemUpgradeRegistry;
+import se.mickelus.tetra.module.data.ImprovementData;
+import se.mickelus.tetra.module.data.TweakData;
+import se.mickelus.tetra.module.data.VariantData;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+
+/**
+ * Immutable snapshot of the modules present on a modular itemstack, along with their variants, improvements and tweak steps. Compiled once
+ * per item identifier and shared by the module accessors in {@link IModularItem}, the arrays and lists returned from here are shared and
+ * must not be modified.
+ */
+@ParametersAreNonnullByDefault
+public class ModuleLayout {
+    private final String[] slotKeys;
+    private final String[] moduleKeys;
+
+    private final ItemModuleMajor[] majorModules;
+    private final ItemModule[] minorModules;
+
+    private final List<ItemModule> allModules;
+    private final VariantData[] variants;
+    private final TweakData[][] tweaks;
+    private final int[][] tweakSteps;
+
+    private final ImprovementData[] improvements;
+
+    private final List<ItemModule> modulesByNamePriority;
+    private final List<ItemModule> modulesByPrefixPriority;
+    private final List<ItemModule> modulesByRenderLayer;
+
+    private ModuleLayout(ItemStack itemStack, String[] majorModuleKeys, String[] minorModuleKeys) {
+        CompoundTag tag = itemStack.getTag();
+
+        slotKeys = new String[majorModuleKeys.length + minorModuleKeys.length];
+        moduleKeys = new String[slotKeys.length];
+        majorModules = new ItemModuleMajor[majorModuleKeys.length];
+        minorModules = new ItemModule[minorModuleKeys.length];
+
+        ArrayList<ItemModule> modules = new ArrayList<>(slotKeys.length);
+        for (int i = 0; i < slotKeys.length; i++) {
+            boolean isMajor = i < majorModuleKeys.length;
+            slotKeys[i] = isMajor ? majorModuleKeys[i] : minorModuleKeys[i - majorModuleKeys.length];
+            moduleKeys[i] = tag != null ? tag.getString(slotKeys[i]) : "";
+
+            ItemModule module = moduleKeys[i].isEmpty() ? null : ItemUpgradeRegistry.instance.getModule(moduleKeys[i]);
+            if (isMajor) {
+                if (module instanceof ItemModuleMajor) {
+                    majorModules[i] = (ItemModuleMajor) module;
+                }
+            } else {
+                minorModules[i - majorModuleKeys.length] = module;
+            }
+
+            if (module != null) {
+                modules.add(module);
+            }
+        }
+        allModules = Collections.unmodifiableList(modules);
+
+        variants = new VariantData[modules.size()];
+        tweaks = new TweakData[modules.size()][];
+        tweakSteps = new int[modules.size()][];
+        for (int i = 0; i < modules.size(); i++) {
+            ItemModule module = modules.get(i);
+            variants[i] = module.getVariantData(itemStack);
+            tweaks[i] = module.getTweaks(itemStack);
+            tweakSteps[i] = new int[tweaks[i].length];
+            for (int j = 0; j < tweaks[i].length; j++) {
+                tweakSteps[i][j] = module.getTweakStep(itemStack, tweaks[i][j]);
+            }
+        }
+
+        improvements = Arrays.stream(majorModules)
+                .filter(Objects::nonNull)
+                .flatMap(module -> Arrays.stream(module.getImprovements(itemStack)))
+                .toArray(ImprovementData[]::new);
+
+        modulesByNamePriority = sortedModules(modules, Comparator.comparing(module -> module.getItemNamePriority(itemStack)));
+        modulesByPrefixPriority = sortedModules(modules, Comparator.comparing(module -> module.getItemPrefixPriority(itemStack)));
+        modulesByRenderLayer = sortedModules(modules, Comparator.comparing(ItemModule::getRenderLayer));
+    }
+
+    public static ModuleLayout compile(IModularItem item, ItemStack itemStack) {
+        return new ModuleLayout(itemStack, item.getMajorModuleKeys(), item.getMinorModuleKeys());
+    }
+
+    private static List<ItemModule> sortedModules(List<ItemModule> modules, Comparator<ItemModule> comparator) {
+        ArrayList<ItemModule> result = new ArrayList<>(modules);
+        result.sort(comparator);
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Cheap check used to catch stacks where modules have been added or removed without the identifier being updated, compares the module
+     * keys stored in the given tag against the ones this layout was compiled from.
+     *
+     * @param tag The tag of the stack that this layout is about to be used for
+     * @return true if the module keys in the tag match the ones in this layout
+     */
+    public boolean matches(@Nullable CompoundTag tag) {
+        for (int i = 0; i < slotKeys.length; i++) {
+            if (!moduleKeys[i].equals(tag != null ? tag.getString(slotKeys[i]) : "")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public ItemModuleMajor[] getMajorModules() {
+        return majorModules;
+    }
+
+    public ItemModule[] getMinorModules() {
+        return minorModules;
+    }
+
+    public List<ItemModule> getAllModules() {
+        return allModules;
+    }
+
+    public boolean hasModule(ItemModule module) {
+        for (ItemModule itemModule : allModules) {
+            if (itemModule.equals(module)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    public ItemModule getModuleFromSlot(String slot) {
+        for (ItemModule module : allModules) {
+            if (slot.equals(module.getSlot())) {
+                return module;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the variant for the given module, or null if the module is not part of this layout.
+     */
+    @Nullable
+    public VariantData getVariant(ItemModule module) {
+        int index = allModules.indexOf(module);
+        return index != -1 ? variants[index] : null;
+    }
+
+    /**
+     * Returns the variants of all modules, in the same order as {@link #getAllModules()}.
+     */
+    public VariantData[] getVariants() {
+        return variants;
+    }
+
+    public TweakData[] getTweaks(ItemModule module) {
+        int index = allModules.indexOf(module);
+        return index != -1 ? tweaks[index] : new TweakData[0];
+    }
+
+    /**
+     * Returns the clamped tweak steps for the given module, indexes match those of {@link #getTweaks(ItemModule)}.
+     */
+    public int[] getTweakSteps(ItemModule module) {
+        int index = allModules.indexOf(module);
+        return index != -1 ? tweakSteps[index] : new int[0];
+    }
+
+    public ImprovementData[] getImprovements() {
+        return improvements;
+    }
+
+    public List<ItemModule> getModulesByNamePriority() {
+        return modulesByNamePriority;
+    }
+
+    public List<ItemModule> getModulesByPrefixPriority() {
+        return modulesByPrefixPriority;
+    }
+
+    public List<ItemModule> getModulesByRenderLayer() {
+        return modulesByRenderLayer;
+    }
+}
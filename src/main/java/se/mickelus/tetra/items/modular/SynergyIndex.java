@@ -0,0 +1,94 @@
+package se.mickelus.tetra.items.modular;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import se.mickelus.tetra.module.ItemModule;
+import se.mickelus.tetra.module.data.SynergyData;
+import se.mickelus.tetra.module.data.VariantData;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+
+/**
+ * Index over a set of synergies, keyed by the first module variant and the first module each synergy requires. Used to narrow down which
+ * synergies could apply to a module layout so that only those have to be matched fully, synergies that require neither module variants nor
+ * modules can never apply and are left out.
+ */
+@ParametersAreNonnullByDefault
+public class SynergyIndex {
+    // synergy arrays are replaced on reload, weak keys compare by identity which lets stale indices get collected
+    private static final Cache<SynergyData[], SynergyIndex> indices = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    private static final int[] noCandidates = new int[0];
+
+    // only the length of the indexed array is kept, holding on to the array would keep it reachable through its own cache entry
+    private final int synergyCount;
+
+    private final Map<String, int[]> variantIndex;
+    private final Map<String, int[]> moduleIndex;
+    private final Map<String, int[]> suffixedModuleIndex;
+
+    private SynergyIndex(SynergyData[] synergies) {
+        synergyCount = synergies.length;
+
+        Map<String, List<Integer>> variants = new HashMap<>();
+        Map<String, List<Integer>> modules = new HashMap<>();
+        Map<String, List<Integer>> suffixedModules = new HashMap<>();
+        for (int i = 0; i < synergies.length; i++) {
+            SynergyData synergy = synergies[i];
+            if (synergy.moduleVariants.length > 0) {
+                variants.computeIfAbsent(synergy.moduleVariants[0], key -> new ArrayList<>()).add(i);
+            }
+
+            if (synergy.modules.length > 0) {
+                (synergy.matchSuffixed ? suffixedModules : modules).computeIfAbsent(synergy.modules[0], key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        variantIndex = toArrays(variants);
+        moduleIndex = toArrays(modules);
+        suffixedModuleIndex = toArrays(suffixedModules);
+    }
+
+    public static SynergyIndex of(SynergyData[] synergies) {
+        return indices.asMap().computeIfAbsent(synergies, SynergyIndex::new);
+    }
+
+    private static Map<String, int[]> toArrays(Map<String, List<Integer>> map) {
+        Map<String, int[]> result = new HashMap<>(map.size());
+        map.forEach((key, value) -> result.put(key, value.stream().mapToInt(Integer::intValue).toArray()));
+        return result;
+    }
+
+    /**
+     * Gathers the synergies that may apply to the given layout, all of these still has to be matched against the layout as only the first
+     * requirement of each synergy is indexed.
+     *
+     * @param synergies the array this index was built from
+     * @return candidate synergies, in the same order as they appear in the indexed array
+     */
+    public SynergyData[] getCandidates(SynergyData[] synergies, ModuleLayout layout) {
+        BitSet candidates = new BitSet(synergyCount);
+
+        for (VariantData variant : layout.getVariants()) {
+            mark(candidates, variantIndex, variant.key);
+        }
+
+        for (ItemModule module : layout.getAllModules()) {
+            mark(candidates, moduleIndex, module.getUnlocalizedName());
+            mark(candidates, suffixedModuleIndex, module.getKey());
+        }
+
+        return candidates.stream()
+                .mapToObj(index -> synergies[index])
+                .toArray(SynergyData[]::new);
+    }
+
+    private static void mark(BitSet candidates, Map<String, int[]> index, String key) {
+        for (int synergyIndex : index.getOrDefault(key, noCandidates)) {
+            candidates.set(synergyIndex);
+        }
+    }
+}
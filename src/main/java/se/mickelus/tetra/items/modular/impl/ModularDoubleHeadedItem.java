@@ -184,14 +184,16 @@ public class ModularDoubleHeadedItem extends ItemModularHandheld {
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList()));
 
-        return Stream.concat(
+        return Stream.of(
+                        Stream.of(result),
                         getAllModules(itemStack).stream()
                                 .filter(itemModule -> !(headLeftKey.equals(itemModule.getSlot()) || headRightKey.equals(itemModule.getSlot())))
                                 .map(module -> module.getToolData(itemStack)),
                         Arrays.stream(getSynergyData(itemStack))
                                 .map(synergy -> synergy.tools))
+                .flatMap(stream -> stream)
                 .filter(Objects::nonNull)
-                .reduce(result, ToolData::merge);
+                .collect(Collectors.collectingAndThen(Collectors.toList(), ToolData::merge));
     }
 
     @Override
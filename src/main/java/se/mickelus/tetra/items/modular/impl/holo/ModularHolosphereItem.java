@@ -26,6 +26,7 @@ import se.mickelus.tetra.items.TetraItemGroup;
 import se.mickelus.tetra.items.modular.IModularItem;
 import se.mickelus.tetra.items.modular.ModularItem;
 import se.mickelus.tetra.items.modular.impl.holo.gui.HoloGui;
+import se.mickelus.tetra.items.modular.impl.holo.gui.scan.ScannableBlockIndex;
 import se.mickelus.tetra.items.modular.impl.holo.gui.scan.ScannerOverlayGui;
 import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltHelper;
 import se.mickelus.tetra.module.schematic.RemoveSchematic;
@@ -88,6 +89,7 @@ public class ModularHolosphereItem extends ModularItem {
     public void clientInit() {
         super.clientInit();
 
+        MinecraftForge.EVENT_BUS.register(new ScannableBlockIndex());
         MinecraftForge.EVENT_BUS.register(new ScannerOverlayGui());
     }
 
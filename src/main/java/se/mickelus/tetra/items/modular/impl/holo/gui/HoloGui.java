@@ -11,9 +11,11 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import se.mickelus.mutil.gui.GuiElement;
 import se.mickelus.tetra.ConfigHandler;
+import se.mickelus.tetra.client.model.ModularModelLoader;
 import se.mickelus.tetra.data.DataManager;
 import se.mickelus.tetra.gui.GuiSpinner;
 import se.mickelus.tetra.items.modular.IModularItem;
+import se.mickelus.tetra.items.modular.ItemDataCache;
 import se.mickelus.tetra.items.modular.impl.holo.HoloPage;
 import se.mickelus.tetra.items.modular.impl.holo.gui.craft.HoloCraftRootGui;
 import se.mickelus.tetra.items.modular.impl.holo.gui.scan.HoloScanRootGui;
@@ -101,6 +103,10 @@ public class HoloGui extends Screen {
     @Override
     public void removed() {
         super.removed();
+
+        ItemDataCache.instance.clearPreviews();
+        ModularModelLoader.clearPreviewCaches();
+
         if (closeCallback != null) {
             // onClose is called in Minecarft.displayGuiScreen, pre-null-assignement prevents gui chaining from getting stuck in recursion
             Runnable callback = closeCallback;
@@ -9,6 +9,7 @@ import se.mickelus.mutil.gui.GuiElement;
 import se.mickelus.tetra.TetraToolActions;
 import se.mickelus.tetra.gui.stats.AbilityStats;
 import se.mickelus.tetra.gui.stats.GuiStats;
+import se.mickelus.tetra.gui.stats.StatSnapshot;
 import se.mickelus.tetra.gui.stats.StatsHelper;
 import se.mickelus.tetra.gui.stats.bar.GuiStatBarTool;
 import se.mickelus.tetra.gui.stats.bar.GuiStatBase;
@@ -119,14 +120,14 @@ public class HoloStatsGui extends GuiElement {
         setVisible(shouldShow);
         if (shouldShow) {
             barGroup.clearChildren();
-            bars.stream()
+            StatSnapshot.capture(() -> bars.stream()
                     .filter(bar -> bar.shouldShow(player, itemStack, previewStack, slot, improvement))
                     .forEach(bar -> {
                         bar.update(player, itemStack, previewStack, slot, improvement);
 
                         realignBar(bar, barGroup.getNumChildren());
                         barGroup.addChild(bar);
-                    });
+                    }));
         }
     }
 
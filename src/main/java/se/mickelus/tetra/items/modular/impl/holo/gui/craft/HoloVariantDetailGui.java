@@ -130,10 +130,10 @@ public class HoloVariantDetailGui extends GuiElement {
 
             variantLabel.setString(I18n.get(ItemModule.getName(baseOutcome.moduleKey, baseOutcome.variantKey)));
 
-            synergyIndicator.update(baseOutcome.itemStack, slot);
+            synergyIndicator.update(baseOutcome.getItemStack(), slot);
 
             Player player = Minecraft.getInstance().player;
-            ItemStack improvementStack = baseOutcome.itemStack;
+            ItemStack improvementStack = baseOutcome.getItemStack();
             UpgradeSchematic[] improvementSchematics = Arrays.stream(SchematicRegistry.getSchematics(slot, improvementStack))
                     .filter(improvementSchematic -> SchematicType.improvement.equals(improvementSchematic.getType()))
                     .filter(improvementSchematic -> improvementSchematic.isApplicableForItem(improvementStack))
@@ -177,7 +177,7 @@ public class HoloVariantDetailGui extends GuiElement {
         currentOutcome = variantOutcome.clone();
 
         for (OutcomeStack stack : selectedOutcomes) {
-            for (OutcomePreview preview : stack.schematic.getPreviews(currentOutcome.itemStack, slot)) {
+            for (OutcomePreview preview : stack.schematic.getPreviews(currentOutcome.getItemStack(), slot)) {
                 if (preview.equals(stack.preview)) {
                     currentOutcome = preview;
                     break;
@@ -185,9 +185,9 @@ public class HoloVariantDetailGui extends GuiElement {
             }
         }
 
-        selectedOutcomes.removeIf(stack -> !stack.preview.isApplied(currentOutcome.itemStack, slot));
+        selectedOutcomes.removeIf(stack -> !stack.preview.isApplied(currentOutcome.getItemStack(), slot));
 
-        improvements.updateSelection(currentOutcome.itemStack, selectedOutcomes);
+        improvements.updateSelection(currentOutcome.getItemStack(), selectedOutcomes);
 
         updateStats(currentOutcome, currentOutcome);
     }
@@ -205,8 +205,8 @@ public class HoloVariantDetailGui extends GuiElement {
     }
 
     public void updateStats(OutcomePreview selectedOutcome, OutcomePreview hoveredOutcome) {
-        ItemStack baseStack = hoveredOutcome != null ? hoveredOutcome.itemStack : selectedOutcome != null ? selectedOutcome.itemStack : ItemStack.EMPTY;
-        stats.update(selectedOutcome != null ? selectedOutcome.itemStack : baseStack, baseStack, null, null,
+        ItemStack baseStack = hoveredOutcome != null ? hoveredOutcome.getItemStack() : selectedOutcome != null ? selectedOutcome.getItemStack() : ItemStack.EMPTY;
+        stats.update(selectedOutcome != null ? selectedOutcome.getItemStack() : baseStack, baseStack, null, null,
                 Minecraft.getInstance().player);
     }
 
@@ -0,0 +1,254 @@
+package se.mickelus.tetra.items.modular.impl.holo.gui.scan;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Client side index of the positions of scannable blocks in loaded chunks, grouped by chunk section. Sections are indexed when their chunk
+ * is loaded and kept up to date as the client receives block updates, which lets the scanner look for scannable blocks among a small set
+ * of candidates rather than marching rays through the world.
+ */
+@ParametersAreNonnullByDefault
+public class ScannableBlockIndex {
+    private static final ResourceLocation tag = new ResourceLocation("tetra:scannable");
+
+    public static ScannableBlockIndex instance;
+
+    // packed block positions of scannable blocks, keyed by packed section position
+    private final Long2ObjectMap<LongSet> sections = new Long2ObjectOpenHashMap<>();
+
+    // packed positions of loaded chunks, so that they can be reindexed when tags change
+    private final LongSet loadedChunks = new LongOpenHashSet();
+
+    public ScannableBlockIndex() {
+        instance = this;
+    }
+
+    public static boolean isScannable(BlockState blockState) {
+        return blockState.getBlock().getTags().contains(tag);
+    }
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getWorld() != null && event.getWorld().isClientSide()) {
+            loadedChunks.add(event.getChunk().getPos().toLong());
+            indexChunk(event.getChunk());
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getWorld() != null && event.getWorld().isClientSide()) {
+            ChunkAccess chunk = event.getChunk();
+            loadedChunks.remove(chunk.getPos().toLong());
+            for (int i = 0; i < chunk.getSectionsCount(); i++) {
+                sections.remove(SectionPos.asLong(chunk.getPos().x, chunk.getSectionYFromSectionIndex(i), chunk.getPos().z));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        if (event.getWorld().isClientSide()) {
+            sections.clear();
+            loadedChunks.clear();
+        }
+    }
+
+    /**
+     * Which blocks are scannable is determined by tags, so all loaded chunks are reindexed when tags change. This fires on the server thread
+     * as well in singleplayer, so the reindex is handed over to the client thread.
+     */
+    @SubscribeEvent
+    public void onTagsUpdated(TagsUpdatedEvent event) {
+        Minecraft.getInstance().execute(this::reindex);
+    }
+
+    private void reindex() {
+        ClientLevel level = Minecraft.getInstance().level;
+        sections.clear();
+        if (level == null) {
+            return;
+        }
+
+        for (LongIterator it = loadedChunks.iterator(); it.hasNext(); ) {
+            long chunkPos = it.nextLong();
+            LevelChunk chunk = level.getChunkSource().getChunk(ChunkPos.getX(chunkPos), ChunkPos.getZ(chunkPos), false);
+            if (chunk != null) {
+                indexChunk(chunk);
+            }
+        }
+    }
+
+    private void indexChunk(ChunkAccess chunk) {
+        LevelChunkSection[] chunkSections = chunk.getSections();
+        for (int i = 0; i < chunkSections.length; i++) {
+            long sectionKey = SectionPos.asLong(chunk.getPos().x, chunk.getSectionYFromSectionIndex(i), chunk.getPos().z);
+            LevelChunkSection section = chunkSections[i];
+
+            // the palette check lets sections without any scannable block states be skipped without looking at individual blocks
+            if (section == null || section.hasOnlyAir() || !section.maybeHas(ScannableBlockIndex::isScannable)) {
+                sections.remove(sectionKey);
+                continue;
+            }
+
+            int baseX = chunk.getPos().getMinBlockX();
+            int baseY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(i));
+            int baseZ = chunk.getPos().getMinBlockZ();
+
+            LongSet positions = new LongOpenHashSet();
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (isScannable(section.getBlockState(x, y, z))) {
+                            positions.add(BlockPos.asLong(baseX + x, baseY + y, baseZ + z));
+                        }
+                    }
+                }
+            }
+
+            if (positions.isEmpty()) {
+                sections.remove(sectionKey);
+            } else {
+                sections.put(sectionKey, positions);
+            }
+        }
+    }
+
+    /**
+     * Called when the client receives a block update, keeps the index in sync with blocks that are placed or removed after the chunk loaded.
+     */
+    public void onBlockChanged(BlockPos pos, BlockState blockState) {
+        long sectionKey = SectionPos.asLong(pos);
+        long posKey = pos.asLong();
+        if (isScannable(blockState)) {
+            sections.computeIfAbsent(sectionKey, key -> new LongOpenHashSet()).add(posKey);
+        } else {
+            LongSet positions = sections.get(sectionKey);
+            if (positions != null && positions.remove(posKey) && positions.isEmpty()) {
+                sections.remove(sectionKey);
+            }
+        }
+    }
+
+    /**
+     * Gathers all indexed positions within the given range of the origin, used as candidates for the rays cast by the scanner.
+     */
+    public List<BlockPos> getPositionsInRange(Vec3 origin, double range) {
+        List<BlockPos> result = new ArrayList<>();
+        if (sections.isEmpty()) {
+            return result;
+        }
+
+        // the ray may clip a block whose center lies just beyond the range
+        double rangeSq = (range + 1) * (range + 1);
+        int minX = SectionPos.blockToSectionCoord(origin.x - range - 1);
+        int minY = SectionPos.blockToSectionCoord(origin.y - range - 1);
+        int minZ = SectionPos.blockToSectionCoord(origin.z - range - 1);
+        int maxX = SectionPos.blockToSectionCoord(origin.x + range + 1);
+        int maxY = SectionPos.blockToSectionCoord(origin.y + range + 1);
+        int maxZ = SectionPos.blockToSectionCoord(origin.z + range + 1);
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    LongSet positions = sections.get(SectionPos.asLong(x, y, z));
+                    if (positions == null) {
+                        continue;
+                    }
+
+                    for (LongIterator it = positions.iterator(); it.hasNext(); ) {
+                        BlockPos pos = BlockPos.of(it.nextLong());
+                        if (origin.distanceToSqr(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5) <= rangeSq) {
+                            result.add(pos);
+                        }
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Finds the candidate closest to the start of the given line segment that the segment passes through, matches the behaviour of
+     * {@link net.minecraft.world.level.BlockGetter#isBlockInLine} for the given candidates.
+     *
+     * @return the position of the first candidate hit by the line, or null if no candidate is hit
+     */
+    @Nullable
+    public static BlockPos findInLine(List<BlockPos> candidates, Vec3 start, Vec3 end) {
+        BlockPos result = null;
+        double closest = Double.MAX_VALUE;
+
+        double dx = end.x - start.x;
+        double dy = end.y - start.y;
+        double dz = end.z - start.z;
+
+        for (BlockPos pos : candidates) {
+            double entry = intersect(start, dx, dy, dz, pos);
+            if (entry >= 0 && entry < closest) {
+                closest = entry;
+                result = pos;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Slab test for the intersection between a segment and the unit cube at the given position.
+     *
+     * @return the fraction along the segment where it enters the cube, or -1 if it does not intersect the cube
+     */
+    private static double intersect(Vec3 start, double dx, double dy, double dz, BlockPos pos) {
+        double tMin = 0;
+        double tMax = 1;
+
+        double[] origin = {start.x, start.y, start.z};
+        double[] direction = {dx, dy, dz};
+        int[] min = {pos.getX(), pos.getY(), pos.getZ()};
+
+        for (int axis = 0; axis < 3; axis++) {
+            if (Math.abs(direction[axis]) < 1e-9) {
+                if (origin[axis] < min[axis] || origin[axis] > min[axis] + 1) {
+                    return -1;
+                }
+            } else {
+                double t0 = (min[axis] - origin[axis]) / direction[axis];
+                double t1 = (min[axis] + 1 - origin[axis]) / direction[axis];
+                tMin = Math.max(tMin, Math.min(t0, t1));
+                tMax = Math.min(tMax, Math.max(t0, t1));
+
+                if (tMin > tMax) {
+                    return -1;
+                }
+            }
+        }
+
+        return tMin;
+    }
+}
@@ -6,15 +6,11 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.resources.language.I18n;
 import net.minecraft.client.resources.sounds.SimpleSoundInstance;
 import net.minecraft.core.BlockPos;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.ClipBlockStateContext;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.phys.BlockHitResult;
-import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.client.event.RenderGameOverlayEvent;
 import net.minecraftforge.common.MinecraftForge;
@@ -29,13 +25,15 @@ import se.mickelus.tetra.effect.ItemEffect;
 import se.mickelus.tetra.items.modular.IModularItem;
 import se.mickelus.tetra.items.modular.impl.holo.ModularHolosphereItem;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.List;
+import java.util.Objects;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 @ParametersAreNonnullByDefault
 public class ScannerOverlayGui extends GuiRoot {
-    private static final ResourceLocation tag = new ResourceLocation("tetra:scannable");
     private static final int snoozeLength = 6000; // 5 min
     public static ScannerOverlayGui instance;
     private final ScannerBarGui scanner;
@@ -180,14 +178,14 @@ public class ScannerOverlayGui extends GuiRoot {
         if (available && ticks % 2 == 0 && !isSnoozed()) {
             int offset = (ticks / 2) % (int) (horizontalSpread * 2 * cooldown);
             if (offset < horizontalSpread * 2) {
+                List<BlockPos> candidates = ScannableBlockIndex.instance.getPositionsInRange(player.getEyePosition(0), range);
                 int yawOffset = (int) ((-horizontalSpread + offset) * ScannerBarGui.getDegreesPerUnit());
                 if (offset % 2 == 0) {
                     if (verticalSpread > 0) {
                         upHighlight = IntStream.range(0, verticalSpread)
                                 .map(i -> i * -5 - 25)
-                                .mapToObj(pitch -> getPositions(player, world, pitch, yawOffset))
-                                .filter(result -> result.getType() != HitResult.Type.MISS)
-                                .map(BlockHitResult::getBlockPos)
+                                .mapToObj(pitch -> getPosition(player, candidates, pitch, yawOffset))
+                                .filter(Objects::nonNull)
                                 .findAny()
                                 .orElse(null);
                         scanner.highlightUp(offset / 2, upHighlight != null);
@@ -197,9 +195,8 @@ public class ScannerOverlayGui extends GuiRoot {
 
                         downHighlight = IntStream.range(0, verticalSpread)
                                 .map(i -> i * 5 + 25)
-                                .mapToObj(pitch -> getPositions(player, world, pitch, yawOffset))
-                                .filter(result -> result.getType() != HitResult.Type.MISS)
-                                .map(BlockHitResult::getBlockPos)
+                                .mapToObj(pitch -> getPosition(player, candidates, pitch, yawOffset))
+                                .filter(Objects::nonNull)
                                 .findAny()
                                 .orElse(null);
                         scanner.highlightDown(offset / 2, downHighlight != null);
@@ -210,9 +207,8 @@ public class ScannerOverlayGui extends GuiRoot {
                 } else if (offset / 2 < horizontalSpread - 1) {
                     midHighlight = IntStream.range(-1, 2)
                             .map(i -> i * 10)
-                            .mapToObj(pitch -> getPositions(player, world, pitch, yawOffset))
-                            .filter(result -> result.getType() != HitResult.Type.MISS)
-                            .map(BlockHitResult::getBlockPos)
+                            .mapToObj(pitch -> getPosition(player, candidates, pitch, yawOffset))
+                            .filter(Objects::nonNull)
                             .findAny()
                             .orElse(null);
 
@@ -226,13 +222,20 @@ public class ScannerOverlayGui extends GuiRoot {
         }
     }
 
-    private BlockHitResult getPositions(Player player, Level world, int pitchOffset, int yawOffset) {
+    /**
+     * Finds the first scannable block along a ray from the eyes of the player, only the given candidates are considered.
+     */
+    @Nullable
+    private BlockPos getPosition(Player player, List<BlockPos> candidates, int pitchOffset, int yawOffset) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
         Vec3 eyePosition = player.getEyePosition(0);
         Vec3 lookVector = getVectorForRotation(player.getViewXRot(1) + pitchOffset, player.getViewYRot(1) + yawOffset);
         Vec3 endVector = eyePosition.add(lookVector.x * range, lookVector.y * range, lookVector.z * range);
 
-        return world.isBlockInLine(new ClipBlockStateContext(eyePosition, endVector,
-                blockState -> blockState.getBlock().getTags().contains(tag)));
+        return ScannableBlockIndex.findInLine(candidates, eyePosition, endVector);
     }
 
     private Vec3 getVectorForRotation(float pitch, float yaw) {
@@ -37,20 +37,7 @@ public class ToolbeltHelper {
             return;
         }
 
-        switch (slotType) {
-            case quickslot:
-                inventory = new QuickslotInventory(toolbeltStack);
-                break;
-            case potion:
-                inventory = new PotionsInventory(toolbeltStack);
-                break;
-            case quiver:
-                inventory = new QuiverInventory(toolbeltStack);
-                break;
-            case storage:
-                inventory = new StorageInventory(toolbeltStack);
-                break;
-        }
+        inventory = ToolbeltInventories.getInventory(toolbeltStack, slotType);
 
         if (inventory.getContainerSize() <= index || inventory.getItem(index).isEmpty()) {
             return;
@@ -100,19 +87,19 @@ public class ToolbeltHelper {
     }
 
     public static boolean storeItemInToolbelt(ItemStack toolbeltStack, ItemStack itemStack) {
-        if (new PotionsInventory(toolbeltStack).storeItemInInventory(itemStack)) {
+        if (ToolbeltInventories.getPotions(toolbeltStack).storeItemInInventory(itemStack)) {
             return true;
         }
 
-        if (new QuiverInventory(toolbeltStack).storeItemInInventory(itemStack)) {
+        if (ToolbeltInventories.getQuiver(toolbeltStack).storeItemInInventory(itemStack)) {
             return true;
         }
 
-        if (new QuickslotInventory(toolbeltStack).storeItemInInventory(itemStack)) {
+        if (ToolbeltInventories.getQuickslots(toolbeltStack).storeItemInInventory(itemStack)) {
             return true;
         }
 
-        return new StorageInventory(toolbeltStack).storeItemInInventory(itemStack);
+        return ToolbeltInventories.getStorage(toolbeltStack).storeItemInInventory(itemStack);
     }
 
     /**
@@ -145,8 +132,8 @@ public class ToolbeltHelper {
         return Optional.of(ToolbeltHelper.findToolbelt(player))
                 .filter(toolbeltStack -> !toolbeltStack.isEmpty())
                 .map(toolbeltStack -> {
-                    QuickslotInventory quickslots = new QuickslotInventory(toolbeltStack);
-                    StorageInventory storage = new StorageInventory(toolbeltStack);
+                    QuickslotInventory quickslots = ToolbeltInventories.getQuickslots(toolbeltStack);
+                    StorageInventory storage = ToolbeltInventories.getStorage(toolbeltStack);
                     List<ItemStack> result = new ArrayList<>(quickslots.getContainerSize() + storage.getContainerSize());
 
                     for (int i = 0; i < quickslots.getContainerSize(); i++) {
@@ -163,10 +150,10 @@ public class ToolbeltHelper {
     }
 
     public static void emptyOverflowSlots(ItemStack itemStack, Player player) {
-        new QuickslotInventory(itemStack).emptyOverflowSlots(player);
-        new PotionsInventory(itemStack).emptyOverflowSlots(player);
-        new StorageInventory(itemStack).emptyOverflowSlots(player);
-        new QuiverInventory(itemStack).emptyOverflowSlots(player);
+        ToolbeltInventories.getQuickslots(itemStack).emptyOverflowSlots(player);
+        ToolbeltInventories.getPotions(itemStack).emptyOverflowSlots(player);
+        ToolbeltInventories.getStorage(itemStack).emptyOverflowSlots(player);
+        ToolbeltInventories.getQuiver(itemStack).emptyOverflowSlots(player);
     }
 
     /**
@@ -184,7 +171,7 @@ public class ToolbeltHelper {
             return -1;
         }
 
-        QuickslotInventory inventory = new QuickslotInventory(toolbeltStack);
+        QuickslotInventory inventory = ToolbeltInventories.getQuickslots(toolbeltStack);
         List<Collection<ItemEffect>> effects = inventory.getSlotEffects();
 
         if (traceResult instanceof BlockHitResult) {
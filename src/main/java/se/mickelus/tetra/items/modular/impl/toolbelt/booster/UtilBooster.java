@@ -15,8 +15,7 @@ import se.mickelus.mutil.util.CastOptional;
 import se.mickelus.tetra.effect.ItemEffect;
 import se.mickelus.tetra.items.modular.IModularItem;
 import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltHelper;
-import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.QuickslotInventory;
-import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.StorageInventory;
+import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.ToolbeltInventories;
 import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.ToolbeltInventory;
 
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -217,7 +216,7 @@ public class UtilBooster {
     }
 
     private static void refuelBuffer(CompoundTag tag, ItemStack itemStack) {
-        ToolbeltInventory inventory = new QuickslotInventory(itemStack);
+        ToolbeltInventory inventory = ToolbeltInventories.getQuickslots(itemStack);
         int index = inventory.getFirstIndexForItem(Items.GUNPOWDER);
         if (index != -1) {
             inventory.removeItem(index, 1);
@@ -225,7 +224,7 @@ public class UtilBooster {
             return;
         }
 
-        inventory = new StorageInventory(itemStack);
+        inventory = ToolbeltInventories.getStorage(itemStack);
         index = inventory.getFirstIndexForItem(Items.GUNPOWDER);
         if (index != -1) {
             inventory.removeItem(index, 1);
@@ -18,6 +18,7 @@ public class QuickslotInventory extends ToolbeltInventory {
     private static final String shadowsKey = "quickShadows";
 
     private final NonNullList<ItemStack> inventoryShadows;
+    private final TrackedSlotList trackedShadows = new TrackedSlotList(shadowsKey, slotKey, (tag, slot) -> tag.putInt(slotKey, slot));
 
     public QuickslotInventory(ItemStack stack) {
         super(inventoryKey, stack, maxSize, SlotType.quick);
@@ -44,19 +45,18 @@ public class QuickslotInventory extends ToolbeltInventory {
                 inventoryShadows.set(slot, ItemStack.of(item));
             }
         }
+
+        trackedShadows.read(tagCompound, maxSize);
     }
 
     public void writeToNBT(CompoundTag tagcompound) {
         super.writeToNBT(tagcompound);
-        ListTag shadows = new ListTag();
+        trackedShadows.write(tagcompound, inventoryShadows);
+    }
 
-        for (int i = 0; i < maxSize; i++) {
-            CompoundTag item = new CompoundTag();
-            item.putInt(slotKey, i);
-            getShadowOfSlot(i).save(item);
-            shadows.add(item);
-        }
-        tagcompound.put(shadowsKey, shadows);
+    @Override
+    public boolean isStale() {
+        return super.isStale() || !trackedShadows.isCurrent(toolbeltItemStack.getTag());
     }
 
     public ItemStack getShadowOfSlot(int index) {
@@ -0,0 +1,115 @@
+package se.mickelus.tetra.items.modular.impl.toolbelt.inventory;
+
+import net.minecraft.core.Direction;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.CapabilityToken;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
+import net.minecraftforge.common.util.LazyOptional;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.function.Function;
+
+/**
+ * Capability attached to toolbelt itemstacks which holds live views of the inventories of the toolbelt. Each inventory is deserialized
+ * from the tag of the toolbelt the first time it's accessed and then reused for as long as it's in sync with the tag, which saves the
+ * toolbelt from being deserialized several times per tick when looking for tools, arrows and the like. Inventories are recreated if
+ * something else has written to the tag of the toolbelt or if the modules of the toolbelt have changed.
+ */
+@ParametersAreNonnullByDefault
+public class ToolbeltInventories implements ICapabilityProvider {
+    public static final Capability<ToolbeltInventories> capability = CapabilityManager.get(new CapabilityToken<>() {});
+
+    private final ItemStack toolbeltStack;
+    private final LazyOptional<ToolbeltInventories> holder = LazyOptional.of(() -> this);
+
+    private QuickslotInventory quickslots;
+    private PotionsInventory potions;
+    private StorageInventory storage;
+    private QuiverInventory quiver;
+
+    public ToolbeltInventories(ItemStack toolbeltStack) {
+        this.toolbeltStack = toolbeltStack;
+    }
+
+    public static void register(RegisterCapabilitiesEvent event) {
+        event.register(ToolbeltInventories.class);
+    }
+
+    /**
+     * Falls back to creating a new inventory for stacks that lack the capability, e.g. stacks that haven't had capabilities initialized.
+     */
+    private static <T extends ToolbeltInventory> T get(ItemStack toolbeltStack, Function<ToolbeltInventories, T> getter,
+            Function<ItemStack, T> factory) {
+        return toolbeltStack.getCapability(capability)
+                .map(getter)
+                .orElseGet(() -> factory.apply(toolbeltStack));
+    }
+
+    public static QuickslotInventory getQuickslots(ItemStack toolbeltStack) {
+        return get(toolbeltStack, ToolbeltInventories::quickslots, QuickslotInventory::new);
+    }
+
+    public static PotionsInventory getPotions(ItemStack toolbeltStack) {
+        return get(toolbeltStack, ToolbeltInventories::potions, PotionsInventory::new);
+    }
+
+    public static StorageInventory getStorage(ItemStack toolbeltStack) {
+        return get(toolbeltStack, ToolbeltInventories::storage, StorageInventory::new);
+    }
+
+    public static QuiverInventory getQuiver(ItemStack toolbeltStack) {
+        return get(toolbeltStack, ToolbeltInventories::quiver, QuiverInventory::new);
+    }
+
+    public static ToolbeltInventory getInventory(ItemStack toolbeltStack, ToolbeltSlotType slotType) {
+        switch (slotType) {
+            case quickslot:
+                return getQuickslots(toolbeltStack);
+            case potion:
+                return getPotions(toolbeltStack);
+            case quiver:
+                return getQuiver(toolbeltStack);
+            case storage:
+                return getStorage(toolbeltStack);
+        }
+
+        throw new IllegalArgumentException("Unknown toolbelt slot type: " + slotType);
+    }
+
+    private QuickslotInventory quickslots() {
+        if (quickslots == null || quickslots.isStale()) {
+            quickslots = new QuickslotInventory(toolbeltStack);
+        }
+        return quickslots;
+    }
+
+    private PotionsInventory potions() {
+        if (potions == null || potions.isStale()) {
+            potions = new PotionsInventory(toolbeltStack);
+        }
+        return potions;
+    }
+
+    private StorageInventory storage() {
+        if (storage == null || storage.isStale()) {
+            storage = new StorageInventory(toolbeltStack);
+        }
+        return storage;
+    }
+
+    private QuiverInventory quiver() {
+        if (quiver == null || quiver.isStale()) {
+            quiver = new QuiverInventory(toolbeltStack);
+        }
+        return quiver;
+    }
+
+    @Override
+    public <T> LazyOptional<T> getCapability(Capability<T> cap, @Nullable Direction side) {
+        return capability.orEmpty(cap, holder);
+    }
+}
@@ -5,6 +5,7 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.Tag;
+import net.minecraft.tags.TagCollection;
 import net.minecraft.world.Container;
 import net.minecraft.world.ContainerHelper;
 import net.minecraft.world.entity.player.Player;
@@ -15,9 +16,11 @@ import se.mickelus.tetra.effect.ItemEffect;
 import se.mickelus.tetra.items.modular.impl.toolbelt.ModularToolbeltItem;
 import se.mickelus.tetra.items.modular.impl.toolbelt.SlotType;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Predicate;
 
 @ParametersAreNonnullByDefault
@@ -32,10 +35,21 @@ public class ToolbeltInventory implements Container {
 
     protected Predicate<ItemStack> predicate = (itemStack -> true);
 
+    private final TrackedSlotList trackedContents;
+    private final TagCollection<Item> itemTags;
+    @Nullable
+    private CompoundTag sourceTag;
+    @Nullable
+    private final String sourceIdentifier;
+
     public ToolbeltInventory(String inventoryKey, ItemStack stack, int maxSize, SlotType inventoryType) {
         this.inventoryKey = inventoryKey;
         toolbeltItemStack = stack;
 
+        trackedContents = new TrackedSlotList(inventoryKey, slotKey, (tag, slot) -> tag.putByte(slotKey, (byte) slot));
+        itemTags = TetraMod.proxy.getItemTags();
+        sourceIdentifier = ModularToolbeltItem.instance.getIdentifier(stack);
+
         this.inventoryType = inventoryType;
 
         this.maxSize = maxSize;
@@ -61,21 +75,33 @@ public class ToolbeltInventory implements Container {
                 inventoryContents.set(slot, ItemStack.of(itemTag));
             }
         }
+
+        sourceTag = compound;
+        trackedContents.read(compound, maxSize);
     }
 
+    /**
+     * Writes the contents of this inventory to the given tag, only slots that have changed since they were last read or written are
+     * rewritten if this inventory was the last to read or write the list of items.
+     */
     public void writeToNBT(CompoundTag tagcompound) {
-        ListTag items = new ListTag();
-
-        for (int i = 0; i < maxSize; i++) {
-            if (getItem(i) != null) {
-                CompoundTag compound = new CompoundTag();
-                getItem(i).save(compound);
-                compound.putByte(slotKey, (byte) i);
-                items.add(compound);
-            }
-        }
+        trackedContents.write(tagcompound, inventoryContents);
+        sourceTag = tagcompound;
+    }
 
-        tagcompound.put(inventoryKey, items);
+    /**
+     * Checks if this inventory is out of sync with the toolbelt it was created for, which happens if the tag of the toolbelt has been written
+     * to by something else, if the modules of the toolbelt have changed or if tags have been reloaded.
+     *
+     * @return true if this inventory should be discarded and recreated from the toolbelt
+     */
+    public boolean isStale() {
+        CompoundTag tag = toolbeltItemStack.getTag();
+        return tag == null
+                || tag != sourceTag
+                || !trackedContents.isCurrent(tag)
+                || itemTags != TetraMod.proxy.getItemTags()
+                || !Objects.equals(sourceIdentifier, ModularToolbeltItem.instance.getIdentifier(toolbeltItemStack));
     }
 
     @Override
@@ -0,0 +1,105 @@
+package se.mickelus.tetra.items.modular.impl.toolbelt.inventory;
+
+import net.minecraft.core.NonNullList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.ItemStack;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Keeps track of a list of slot tags in the tag of a toolbelt, and of what was last read from or written to each entry in that list. Lets
+ * inventories rewrite only the entries for slots that have changed, and detect when the list has been replaced by someone else.
+ */
+@ParametersAreNonnullByDefault
+class TrackedSlotList {
+    private final String key;
+    private final String slotKey;
+    private final ObjIntConsumer<CompoundTag> slotWriter;
+
+    // the list as it was last read or written, replaced lists are detected by identity
+    @Nullable
+    private Tag source;
+
+    // copies of the stacks as they were last read or written, null when entries in the list don't line up with slot indices
+    @Nullable
+    private ItemStack[] written;
+
+    TrackedSlotList(String key, String slotKey, ObjIntConsumer<CompoundTag> slotWriter) {
+        this.key = key;
+        this.slotKey = slotKey;
+        this.slotWriter = slotWriter;
+    }
+
+    /**
+     * @return true if the list in the given tag is the same list that was last read or written
+     */
+    public boolean isCurrent(CompoundTag tag) {
+        return tag.get(key) == source;
+    }
+
+    /**
+     * Called when an inventory reads its stacks from the given tag, entries can only be updated in place if there is one entry per slot and
+     * the entries are ordered by slot.
+     */
+    public void read(CompoundTag tag, int size) {
+        source = tag.get(key);
+        written = null;
+
+        ListTag list = tag.getList(key, Tag.TAG_COMPOUND);
+        if (list != source || list.size() != size) {
+            return;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (list.getCompound(i).getInt(slotKey) != i) {
+                return;
+            }
+        }
+
+        // compared against what's actually in the list, inventories may skip some entries when reading
+        written = new ItemStack[size];
+        for (int i = 0; i < size; i++) {
+            written[i] = ItemStack.of(list.getCompound(i));
+        }
+    }
+
+    public void write(CompoundTag tag, NonNullList<ItemStack> stacks) {
+        if (written == null || !isCurrent(tag)) {
+            writeAll(tag, stacks);
+            return;
+        }
+
+        ListTag list = (ListTag) source;
+        for (int i = 0; i < stacks.size(); i++) {
+            ItemStack itemStack = stacks.get(i);
+            if (!ItemStack.matches(itemStack, written[i])) {
+                list.set(i, createEntry(itemStack, i));
+                written[i] = itemStack.copy();
+            }
+        }
+    }
+
+    private void writeAll(CompoundTag tag, NonNullList<ItemStack> stacks) {
+        ListTag list = new ListTag();
+        written = new ItemStack[stacks.size()];
+
+        for (int i = 0; i < stacks.size(); i++) {
+            list.add(createEntry(stacks.get(i), i));
+            written[i] = stacks.get(i).copy();
+        }
+
+        tag.put(key, list);
+        source = list;
+    }
+
+    private CompoundTag createEntry(ItemStack itemStack, int slot) {
+        CompoundTag entry = new CompoundTag();
+        itemStack.save(entry);
+        slotWriter.accept(entry, slot);
+        return entry;
+    }
+}
@@ -0,0 +1,21 @@
+package se.mickelus.tetra.mixin;
+
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import se.mickelus.tetra.items.modular.impl.holo.gui.scan.ScannableBlockIndex;
+
+@Mixin(ClientLevel.class)
+public abstract class MixinClientLevel {
+
+    @Inject(at = @At("TAIL"), method = "setKnownState")
+    private void setKnownState(BlockPos pos, BlockState blockState, CallbackInfo callback) {
+        if (ScannableBlockIndex.instance != null) {
+            ScannableBlockIndex.instance.onBlockChanged(pos, blockState);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package se.mickelus.tetra.mixin;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import se.mickelus.tetra.blocks.workbench.AbstractWorkbenchBlock;
+
+@Mixin(LevelChunk.class)
+public abstract class MixinLevelChunk {
+
+    @Inject(at = @At("RETURN"), method = "setBlockState")
+    private void setBlockState(BlockPos pos, BlockState blockState, boolean isMoving, CallbackInfoReturnable<BlockState> callback) {
+        // the previous state is returned, null if nothing changed
+        BlockState previousState = callback.getReturnValue();
+        if (previousState != null) {
+            AbstractWorkbenchBlock.onBlockChanged(((LevelChunk) (Object) this).getLevel(), pos, previousState, blockState);
+        }
+    }
+}
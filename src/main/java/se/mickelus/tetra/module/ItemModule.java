@@ -22,10 +22,12 @@ import se.mickelus.tetra.properties.AttributeHelper;
 import se.mickelus.tetra.properties.IToolProvider;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 public abstract class ItemModule implements IToolProvider {
 
     public static final float repairLevelFactor = 10;
+    protected static final TweakData[] emptyTweaks = new TweakData[0];
     protected final String slotTagKey;
     protected final String moduleKey;
     protected final String variantTagKey;
@@ -33,6 +35,10 @@ public abstract class ItemModule implements IToolProvider {
     protected TweakData[] tweaks = new TweakData[0];
     protected Priority renderLayer = Priority.BASE;
 
+    // lookup tables for variants and tweaks, keyed by variant key
+    private volatile Map<String, VariantData> variantIndex;
+    private volatile Map<String, TweakData[]> variantTweakIndex;
+
     public ItemModule(String slotKey, String moduleKey) {
         this.slotTagKey = slotKey;
         this.moduleKey = moduleKey;
@@ -90,18 +96,53 @@ public abstract class ItemModule implements IToolProvider {
         return variantData;
     }
 
+    /**
+     * Builds lookup tables for variants and tweaks, should be called once the variant & tweak data of the module has been set up. Lookups
+     * will build the tables if this has not been called.
+     */
+    public void buildIndex() {
+        Map<String, VariantData> variants = new HashMap<>(variantData.length * 2);
+        for (VariantData variant : variantData) {
+            variants.putIfAbsent(variant.key, variant);
+        }
+
+        Map<String, TweakData[]> variantTweaks = Arrays.stream(tweaks)
+                .filter(tweak -> tweak.variant != null)
+                .collect(Collectors.groupingBy(tweak -> tweak.variant, LinkedHashMap::new,
+                        Collectors.collectingAndThen(Collectors.toList(), list -> list.toArray(new TweakData[0]))));
+
+        variantTweakIndex = variantTweaks;
+        variantIndex = variants;
+    }
+
+    private Map<String, VariantData> getVariantIndex() {
+        if (variantIndex == null) {
+            buildIndex();
+        }
+
+        return variantIndex;
+    }
+
+    private Map<String, TweakData[]> getVariantTweakIndex() {
+        if (variantTweakIndex == null) {
+            buildIndex();
+        }
+
+        return variantTweakIndex;
+    }
+
     public VariantData getVariantData(ItemStack itemStack) {
-        return Optional.ofNullable(itemStack.getTag())
-                .map(tag -> tag.getString(variantTagKey))
-                .map(key -> getVariantData(key))
-                .orElseGet(this::getDefaultData);
+        CompoundTag tag = itemStack.getTag();
+        if (tag != null) {
+            return getVariantData(tag.getString(variantTagKey));
+        }
+
+        return getDefaultData();
     }
 
     public VariantData getVariantData(String variantKey) {
-        return Arrays.stream(variantData)
-                .filter(moduleData -> moduleData.key.equals(variantKey))
-                .findAny()
-                .orElseGet(this::getDefaultData);
+        VariantData result = getVariantIndex().get(variantKey);
+        return result != null ? result : getDefaultData();
     }
 
     public ItemProperties getProperties(ItemStack itemStack) {
@@ -276,28 +317,30 @@ public abstract class ItemModule implements IToolProvider {
 
     public boolean isTweakable(ItemStack itemStack) {
         if (itemStack.hasTag()) {
-            String variant = itemStack.getTag().getString(variantTagKey);
-            return Arrays.stream(tweaks)
-                    .anyMatch(data -> variant.equals(data.variant));
+            return getVariantTweakIndex().containsKey(itemStack.getTag().getString(variantTagKey));
         }
 
         return false;
     }
 
+    /**
+     * Returns the tweaks available for the module on the given itemstack, the returned array is shared and must not be modified.
+     */
     public TweakData[] getTweaks(ItemStack itemStack) {
         if (itemStack.hasTag()) {
-            String variant = itemStack.getTag().getString(variantTagKey);
-            return Arrays.stream(tweaks)
-                    .filter(tweak -> variant.equals(tweak.variant))
-                    .toArray(TweakData[]::new);
+            return getVariantTweakIndex().getOrDefault(itemStack.getTag().getString(variantTagKey), emptyTweaks);
         }
-        return new TweakData[0];
+        return emptyTweaks;
     }
 
     public boolean hasTweak(ItemStack itemStack, String tweakKey) {
-        return Arrays.stream(getTweaks(itemStack))
-                .map(tweak -> tweak.key)
-                .anyMatch(tweakKey::equals);
+        for (TweakData tweak : getTweaks(itemStack)) {
+            if (tweakKey.equals(tweak.key)) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     public int getTweakStep(ItemStack itemStack, TweakData tweak) {
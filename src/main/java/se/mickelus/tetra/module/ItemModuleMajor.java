@@ -73,6 +73,9 @@ public abstract class ItemModuleMajor extends ItemModule {
                 addImprovement(itemStack, settleImprovement, settleLevel == -1 ? 1 : settleLevel + 1);
                 tag.remove(settleProgressKey);
 
+                // the stack is in use, so its identifier has to follow the settled improvement
+                IModularItem.updateIdentifier(itemStack);
+
                 if (entity instanceof ServerPlayer) {
                     TetraMod.packetHandler.sendTo(new SettlePacket(itemStack, getSlot()), (ServerPlayer) entity);
                 }
@@ -253,8 +256,25 @@ public abstract class ItemModuleMajor extends ItemModule {
                 .sum();
     }
 
+    /**
+     * Returns true if any tweak of this module is unlocked by an improvement, tweaks can then not be looked up by variant alone.
+     */
+    private boolean hasImprovementTweaks() {
+        for (TweakData tweak : tweaks) {
+            if (tweak.improvement != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     @Override
     public boolean isTweakable(ItemStack itemStack) {
+        if (!hasImprovementTweaks()) {
+            return super.isTweakable(itemStack);
+        }
+
         String[] improvementKeys = Arrays.stream(getImprovements(itemStack))
                 .map(improvement -> improvement.key)
                 .toArray(String[]::new);
@@ -266,6 +286,10 @@ public abstract class ItemModuleMajor extends ItemModule {
 
     @Override
     public TweakData[] getTweaks(ItemStack itemStack) {
+        if (!hasImprovementTweaks()) {
+            return super.getTweaks(itemStack);
+        }
+
         if (itemStack.hasTag()) {
             String variant = itemStack.getTag().getString(this.variantTagKey);
             String[] improvementKeys = Arrays.stream(getImprovements(itemStack))
@@ -277,7 +301,7 @@ public abstract class ItemModuleMajor extends ItemModule {
                     .toArray(TweakData[]::new);
         }
 
-        return new TweakData[0];
+        return emptyTweaks;
     }
 
     @Override
@@ -1,15 +1,25 @@
 package se.mickelus.tetra.module;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.JsonElement;
+import net.minecraft.advancements.critereon.ItemPredicate;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.registries.ForgeRegistries;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import se.mickelus.tetra.TetraMod;
 import se.mickelus.tetra.data.DataManager;
+import se.mickelus.tetra.items.ItemPredicateComposite;
 import se.mickelus.tetra.items.modular.IModularItem;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -22,19 +32,93 @@ public class ItemUpgradeRegistry {
     private final List<BiFunction<ItemStack, ItemStack, ItemStack>> replacementHooks;
     private List<ReplacementDefinition> replacementDefinitions;
 
+    // the items each definition can possibly match, definitions with predicates that can't be narrowed down to a set of items map to null
+    private Map<ReplacementDefinition, Set<Item>> definitionItems;
+
+    // definitions that may match each item, in definition order. An empty array means that the item never has a replacement
+    private final Map<Item, ReplacementDefinition[]> itemIndex;
+
+    private final Cache<ReplacementKey, ItemStack> replacementCache;
+
     public ItemUpgradeRegistry() {
         instance = this;
         replacementHooks = new ArrayList<>();
 
         replacementDefinitions = Collections.emptyList();
+        definitionItems = Collections.emptyMap();
+        itemIndex = new ConcurrentHashMap<>();
+        replacementCache = CacheBuilder.newBuilder()
+                .maximumSize(1000)
+                .expireAfterAccess(5, TimeUnit.MINUTES)
+                .build();
+
         DataManager.instance.replacementData.onReload(() -> {
             replacementDefinitions = DataManager.instance.replacementData.getData().values().stream()
                     .flatMap(Arrays::stream)
                     .filter(replacementDefinition -> replacementDefinition.predicate != null)
                     .collect(Collectors.toList());
+
+            Map<ReplacementDefinition, Set<Item>> items = new IdentityHashMap<>();
+            replacementDefinitions.forEach(definition -> items.put(definition, getPredicateItems(definition.predicate)));
+            definitionItems = items;
+
+            clearCaches();
         });
     }
 
+    /**
+     * Attempts to narrow down the items that the given predicate can match, based on the "items" field of vanilla predicates.
+     *
+     * @return A set of the items the predicate could match, or null if the predicate could match any item
+     */
+    @Nullable
+    private static Set<Item> getPredicateItems(ItemPredicate predicate) {
+        if (predicate instanceof ItemPredicateComposite) {
+            Set<Item> result = new HashSet<>();
+            for (ItemPredicate childPredicate : ((ItemPredicateComposite) predicate).getPredicates()) {
+                Set<Item> childItems = getPredicateItems(childPredicate);
+                if (childItems == null) {
+                    return null;
+                }
+                result.addAll(childItems);
+            }
+            return result;
+        }
+
+        // predicates provided by tetra or other mods may match based on other things than the items field, so only vanilla predicates are narrowed
+        if (predicate.getClass() != ItemPredicate.class) {
+            return null;
+        }
+
+        JsonElement json = predicate.serializeToJson();
+        if (!json.isJsonObject() || !json.getAsJsonObject().has("items")) {
+            return null;
+        }
+
+        Set<Item> result = new HashSet<>();
+        json.getAsJsonObject().getAsJsonArray("items").forEach(element -> {
+            Item item = ForgeRegistries.ITEMS.getValue(new ResourceLocation(element.getAsString()));
+            if (item != null) {
+                result.add(item);
+            }
+        });
+        return result;
+    }
+
+    private ReplacementDefinition[] getCandidates(Item item) {
+        return itemIndex.computeIfAbsent(item, key -> replacementDefinitions.stream()
+                .filter(definition -> {
+                    Set<Item> items = definitionItems.get(definition);
+                    return items == null || items.contains(key);
+                })
+                .toArray(ReplacementDefinition[]::new));
+    }
+
+    private void clearCaches() {
+        itemIndex.clear();
+        replacementCache.invalidateAll();
+    }
+
     /**
      * Register a hook that will be run for every item that is converted into a tetra item
      *
@@ -43,17 +127,35 @@ public class ItemUpgradeRegistry {
      */
     public void registerReplacementHook(BiFunction<ItemStack, ItemStack, ItemStack> hook) {
         replacementHooks.add(hook);
+        replacementCache.invalidateAll();
     }
 
     /**
-     * Attempts to get a modular itemstack to replace the given non-modular itemstack.
-     * Make sure to call {@link IModularItem#updateIdentifier} on the new item afterwards to make rendering cheaper.
+     * Attempts to get a modular itemstack to replace the given non-modular itemstack. The identifier of the replacement is derived from
+     * its content, so identical replacements share cached data and models.
+     * Replacements are memoized per item, damage & tag of the given stack, items that no definition could match are rejected without
+     * evaluating any predicates.
      *
      * @param itemStack A non-modular itemstack
      * @return The modular counterpart to the given item, or an empty itemstack if there is none
      */
     public ItemStack getReplacement(ItemStack itemStack) {
-        for (ReplacementDefinition replacementDefinition : replacementDefinitions) {
+        ReplacementDefinition[] candidates = getCandidates(itemStack.getItem());
+        if (candidates.length == 0) {
+            return ItemStack.EMPTY;
+        }
+
+        ItemStack result = replacementCache.getIfPresent(new ReplacementKey(itemStack, false));
+        if (result == null) {
+            result = getReplacement(itemStack, candidates);
+            replacementCache.put(new ReplacementKey(itemStack, true), result);
+        }
+
+        return result.isEmpty() ? ItemStack.EMPTY : result.copy();
+    }
+
+    private ItemStack getReplacement(ItemStack itemStack, ReplacementDefinition[] candidates) {
+        for (ReplacementDefinition replacementDefinition : candidates) {
             if (replacementDefinition.predicate.matches(itemStack)) {
                 ItemStack replacementStack = replacementDefinition.itemStack.copy();
 
@@ -63,6 +165,10 @@ public class ItemUpgradeRegistry {
                     replacementStack = hook.apply(itemStack, replacementStack);
                 }
 
+                if (replacementStack.getItem() instanceof IModularItem) {
+                    IModularItem.updateIdentifier(replacementStack);
+                }
+
                 return replacementStack;
             }
         }
@@ -70,10 +176,41 @@ public class ItemUpgradeRegistry {
     }
 
     public ItemModule getModule(String key) {
-        return ModuleRegistry.instance.getModule(new ResourceLocation(TetraMod.MOD_ID, key));
+        return ModuleRegistry.instance.getModule(key);
     }
 
     public Collection<ItemModule> getAllModules() {
         return ModuleRegistry.instance.getAllModules();
     }
+
+    /**
+     * Key for memoized replacements, the tag is copied when the key is stored as the tag of the source stack may change later on.
+     */
+    private static class ReplacementKey {
+        private final Item item;
+        private final int damage;
+        @Nullable
+        private final CompoundTag tag;
+        private final int hashCode;
+
+        ReplacementKey(ItemStack itemStack, boolean copyTag) {
+            item = itemStack.getItem();
+            damage = itemStack.getDamageValue();
+            tag = copyTag && itemStack.getTag() != null ? itemStack.getTag().copy() : itemStack.getTag();
+            hashCode = Objects.hash(item, damage, tag);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ReplacementKey that = (ReplacementKey) o;
+            return damage == that.damage && item == that.item && Objects.equals(tag, that.tag);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
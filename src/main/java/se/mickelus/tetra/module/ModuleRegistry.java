@@ -6,11 +6,13 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import se.mickelus.mutil.util.Filter;
+import se.mickelus.tetra.TetraMod;
 import se.mickelus.tetra.data.DataManager;
 import se.mickelus.tetra.module.data.MaterialVariantData;
 import se.mickelus.tetra.module.data.ModuleData;
 import se.mickelus.tetra.module.data.VariantData;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.*;
 import java.util.function.BiFunction;
@@ -26,11 +28,15 @@ public class ModuleRegistry {
     private final Map<ResourceLocation, BiFunction<ResourceLocation, ModuleData, ItemModule>> moduleConstructors;
     private Map<ResourceLocation, ItemModule> moduleMap;
 
+    // lookup table rebuilt on reload, tetra modules keyed by path
+    private Map<String, ItemModule> moduleKeyMap;
+
     public ModuleRegistry() {
         instance = this;
 
         moduleConstructors = new HashMap<>();
         moduleMap = Collections.emptyMap();
+        moduleKeyMap = Collections.emptyMap();
 
         DataManager.instance.moduleData.onReload(() -> setupModules(DataManager.instance.moduleData.getData()));
     }
@@ -43,6 +49,19 @@ public class ModuleRegistry {
                         Map.Entry::getKey,
                         entry -> setupModule(entry.getKey(), entry.getValue())
                 ));
+
+        setupLookupTable();
+    }
+
+    private void setupLookupTable() {
+        Map<String, ItemModule> keyMap = new HashMap<>(moduleMap.size() * 2);
+        moduleMap.forEach((identifier, module) -> {
+            if (TetraMod.MOD_ID.equals(identifier.getNamespace())) {
+                keyMap.put(identifier.getPath(), module);
+            }
+        });
+
+        moduleKeyMap = keyMap;
     }
 
     private boolean validateModuleData(ResourceLocation identifier, ModuleData data) {
@@ -122,7 +141,10 @@ public class ModuleRegistry {
         expandMaterialVariants(data);
         handleVariantDuplicates(data);
 
-        return moduleConstructors.get(data.type).apply(identifier, data);
+        ItemModule module = moduleConstructors.get(data.type).apply(identifier, data);
+        module.buildIndex();
+
+        return module;
     }
 
     public void registerModuleType(ResourceLocation identifier, BiFunction<ResourceLocation, ModuleData, ItemModule> constructor) {
@@ -134,6 +156,18 @@ public class ModuleRegistry {
         return moduleMap.get(identifier);
     }
 
+    /**
+     * Resolves a module in the tetra namespace by its path, as stored in the slots of modular items. Cheaper than
+     * {@link #getModule(ResourceLocation)} as no resource location has to be constructed.
+     *
+     * @param key The path of the module identifier
+     * @return The module, or null if there is no matching module
+     */
+    @Nullable
+    public ItemModule getModule(String key) {
+        return moduleKeyMap.get(key);
+    }
+
     public Collection<ItemModule> getAllModules() {
         return moduleMap.values();
     }
@@ -1,20 +1,29 @@
 package se.mickelus.tetra.module;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import se.mickelus.mutil.util.Filter;
+import se.mickelus.tetra.ConfigHandler;
 import se.mickelus.tetra.TetraMod;
 import se.mickelus.tetra.blocks.workbench.WorkbenchTile;
 import se.mickelus.tetra.data.DataManager;
+import se.mickelus.tetra.items.modular.IModularItem;
 import se.mickelus.tetra.module.schematic.*;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -26,13 +35,39 @@ public class SchematicRegistry {
     private final Map<ResourceLocation, UpgradeSchematic> dynamicSchematics;
     private Map<ResourceLocation, UpgradeSchematic> schematicMap;
 
+    private UpgradeSchematic[] allSchematics;
+
+    // schematics that may apply to each slot, schematics that do not declare which slots they apply to are included for every slot
+    private Map<String, UpgradeSchematic[]> slotIndex;
+    private UpgradeSchematic[] unslottedSchematics;
+
+    // applicability of schematics with arbitrary item predicates as requirement can't be memoized, determined per candidate set on reload
+    private boolean memoizeItemSchematics;
+    private boolean memoizeUnslottedSchematics;
+    private Set<String> unmemoizedSlots;
+
+    // memoized results of applicability checks for modular items, keyed by identifier (and slot), cleared whenever schematics change
+    private final Cache<String, UpgradeSchematic[]> applicableCache;
+
     public SchematicRegistry() {
         instance = this;
 
         schematicMap = Collections.emptyMap();
         dynamicSchematics = new HashMap<>();
 
+        allSchematics = new UpgradeSchematic[0];
+        slotIndex = Collections.emptyMap();
+        unslottedSchematics = new UpgradeSchematic[0];
+        memoizeItemSchematics = true;
+        memoizeUnslottedSchematics = true;
+        unmemoizedSlots = Collections.emptySet();
+        applicableCache = CacheBuilder.newBuilder()
+                .maximumSize(1000)
+                .expireAfterAccess(5, TimeUnit.MINUTES)
+                .build();
+
         DataManager.instance.schematicData.onReload(() -> setupSchematics(DataManager.instance.schematicData.getData()));
+        DataManager.instance.moduleData.onReload(ConfigSchematic::clearPreviewCache);
     }
 
     public static UpgradeSchematic getSchematic(ResourceLocation identifier) {
@@ -48,16 +83,75 @@ public class SchematicRegistry {
     }
 
     public static UpgradeSchematic[] getAvailableSchematics(Player player, WorkbenchTile tile, ItemStack itemStack) {
-        return getAllSchematics().stream()
+        return Arrays.stream(instance.getApplicableSchematics(itemStack))
                 .filter(upgradeSchematic -> playerHasSchematic(player, tile, itemStack, upgradeSchematic))
-                .filter(upgradeSchematic -> upgradeSchematic.isApplicableForItem(itemStack))
                 .toArray(UpgradeSchematic[]::new);
     }
 
     public static UpgradeSchematic[] getSchematics(String slot, ItemStack itemStack) {
-        return getAllSchematics().stream()
+        return instance.getSlotSchematics(slot, itemStack).clone();
+    }
+
+    private UpgradeSchematic[] getApplicableSchematics(ItemStack itemStack) {
+        String key = memoizeItemSchematics ? getCacheKey(itemStack, "item") : null;
+        return getMemoized(key, () -> Arrays.stream(allSchematics)
+                .filter(upgradeSchematic -> upgradeSchematic.isApplicableForItem(itemStack))
+                .toArray(UpgradeSchematic[]::new));
+    }
+
+    private UpgradeSchematic[] getSlotSchematics(@Nullable String slot, ItemStack itemStack) {
+        UpgradeSchematic[] candidates;
+        boolean memoize;
+        if (slot != null && slotIndex.containsKey(slot)) {
+            candidates = slotIndex.get(slot);
+            memoize = !unmemoizedSlots.contains(slot);
+        } else {
+            candidates = unslottedSchematics;
+            memoize = memoizeUnslottedSchematics;
+        }
+
+        String key = memoize ? getCacheKey(itemStack, "slot:" + slot) : null;
+        return getMemoized(key, () -> Arrays.stream(candidates)
                 .filter(upgradeSchematic -> upgradeSchematic.isApplicableForSlot(slot, itemStack))
-                .toArray(UpgradeSchematic[]::new);
+                .toArray(UpgradeSchematic[]::new));
+    }
+
+    private UpgradeSchematic[] getMemoized(@Nullable String key, Supplier<UpgradeSchematic[]> supplier) {
+        if (key == null) {
+            return supplier.get();
+        }
+
+        UpgradeSchematic[] result = applicableCache.getIfPresent(key);
+        if (result == null) {
+            result = supplier.get();
+            applicableCache.put(key, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Applicability of schematics depend on the modules & improvements of an item, which is what the identifier is derived from, on
+     * whether the item can be honed and if module progression is enabled. Only modular items are memoized, applicability for other items is
+     * computed on each call.
+     */
+    @Nullable
+    private String getCacheKey(ItemStack itemStack, String suffix) {
+        if (itemStack.getItem() instanceof IModularItem item) {
+            return itemStack.getItem().getRegistryName() + ":" + item.getDataCacheKey(itemStack) + ":" + IModularItem.isHoneable(itemStack)
+                    + ":" + ConfigHandler.moduleProgression.get() + ":" + suffix;
+        }
+
+        return null;
+    }
+
+    /**
+     * Schematics that are not config driven only check the item type & modules, config driven schematics may have requirements that match
+     * against anything on the stack.
+     */
+    private static boolean isMemoizable(UpgradeSchematic[] schematics) {
+        return Arrays.stream(schematics)
+                .noneMatch(schematic -> schematic instanceof ConfigSchematic && !((ConfigSchematic) schematic).hasModularRequirement());
     }
 
     public static boolean playerHasSchematic(Player player, WorkbenchTile tile, ItemStack targetStack, UpgradeSchematic schematic) {
@@ -73,6 +167,35 @@ public class SchematicRegistry {
         dynamicSchematics.put(new ResourceLocation(TetraMod.MOD_ID, schematic.getKey()), schematic);
     }
 
+    private void buildIndex() {
+        allSchematics = schematicMap.values().toArray(new UpgradeSchematic[0]);
+
+        unslottedSchematics = Arrays.stream(allSchematics)
+                .filter(schematic -> schematic.getSlots() == null)
+                .toArray(UpgradeSchematic[]::new);
+
+        slotIndex = Arrays.stream(allSchematics)
+                .map(UpgradeSchematic::getSlots)
+                .filter(Objects::nonNull)
+                .flatMap(Arrays::stream)
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(), slot -> Arrays.stream(allSchematics)
+                        .filter(schematic -> schematic.getSlots() == null || ArrayUtils.contains(schematic.getSlots(), slot))
+                        .toArray(UpgradeSchematic[]::new)));
+
+        memoizeItemSchematics = isMemoizable(allSchematics);
+        memoizeUnslottedSchematics = isMemoizable(unslottedSchematics);
+        unmemoizedSlots = slotIndex.entrySet().stream()
+                .filter(entry -> !isMemoizable(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+
+        MaterialRevealIndex.rebuild(allSchematics);
+
+        applicableCache.invalidateAll();
+        ConfigSchematic.clearPreviewCache();
+    }
+
     private void setupSchematics(Map<ResourceLocation, SchematicDefinition> data) {
         schematicMap = data.entrySet().stream()
                 .filter(entry -> validateSchematicDefinition(entry.getKey(), entry.getValue()))
@@ -82,6 +205,8 @@ public class SchematicRegistry {
 
         dynamicSchematics.forEach((identifier, schematic) -> schematicMap.put(identifier, schematic));
 
+        buildIndex();
+
         RepairRegistry.instance.injectFromSchematics(data.values());
     }
 
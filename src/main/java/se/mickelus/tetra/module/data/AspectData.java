@@ -5,12 +5,20 @@ import se.mickelus.tetra.aspect.ItemAspect;
 
 import java.lang.reflect.Type;
 import java.util.Collection;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class AspectData extends TierData<ItemAspect> {
+    public static final TierKeyIndex<ItemAspect> keyIndex = new TierKeyIndex<>();
+
+    public AspectData() {
+        super(keyIndex);
+    }
+
+    @Override
+    public AspectData freeze() {
+        super.freeze();
+        return this;
+    }
 
     public static AspectData overwrite(AspectData a, AspectData b) {
         if (a == null) {
@@ -20,16 +28,29 @@ public class AspectData extends TierData<ItemAspect> {
         }
 
         AspectData result = new AspectData();
-        result.levelMap.putAll(a.levelMap);
-        result.efficiencyMap.putAll(a.efficiencyMap);
-        b.levelMap.forEach(result.levelMap::put);
-        b.efficiencyMap.forEach(result.efficiencyMap::put);
+        result.copyFrom(a);
+        result.copyFrom(b);
 
         return result;
     }
 
+    /**
+     * Merges all given data into a single new instance, null entries are ignored. Returns null if there is no data to merge.
+     */
     public static AspectData merge(Collection<AspectData> data) {
-        return data.stream().reduce(null, AspectData::merge);
+        AspectData result = null;
+        for (AspectData entry : data) {
+            if (entry != null) {
+                if (result == null) {
+                    result = new AspectData();
+                    result.copyFrom(entry);
+                } else {
+                    result.accumulate(entry);
+                }
+            }
+        }
+
+        return result;
     }
 
     public static AspectData merge(AspectData a, AspectData b) {
@@ -40,16 +61,8 @@ public class AspectData extends TierData<ItemAspect> {
         }
 
         AspectData result = new AspectData();
-        result.levelMap = Stream.of(a, b)
-                .map(toolData -> toolData.levelMap)
-                .map(Map::entrySet)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Float::sum));
-        result.efficiencyMap = Stream.of(a, b)
-                .map(toolData -> toolData.efficiencyMap)
-                .map(Map::entrySet)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Float::sum));
+        result.copyFrom(a);
+        result.accumulate(b);
 
         return result;
     }
@@ -58,10 +71,8 @@ public class AspectData extends TierData<ItemAspect> {
         return Optional.ofNullable(aspectData)
                 .map(data -> {
                     AspectData result = new AspectData();
-                    result.levelMap = data.levelMap.entrySet().stream()
-                            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue() * levelMultiplier));
-                    result.efficiencyMap = data.efficiencyMap.entrySet().stream()
-                            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue() * efficiencyMultiplier));
+                    result.copyFrom(data);
+                    result.scale(levelMultiplier, efficiencyMultiplier, 0);
                     return result;
                 })
                 .orElse(null);
@@ -80,11 +91,11 @@ public class AspectData extends TierData<ItemAspect> {
                 if (entryValue.isJsonArray()) {
                     JsonArray entryArray = entryValue.getAsJsonArray();
                     if (entryArray.size() == 2) {
-                        data.levelMap.put(aspect, entryArray.get(0).getAsFloat());
-                        data.efficiencyMap.put(aspect, entryArray.get(1).getAsFloat());
+                        data.setLevel(aspect, entryArray.get(0).getAsFloat());
+                        data.setEfficiency(aspect, entryArray.get(1).getAsFloat());
                     }
                 } else {
-                    data.levelMap.put(aspect, entryValue.getAsFloat());
+                    data.setLevel(aspect, entryValue.getAsFloat());
                 }
             });
 
@@ -6,13 +6,21 @@ import se.mickelus.tetra.effect.ItemEffect;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.lang.reflect.Type;
 import java.util.Collection;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @ParametersAreNonnullByDefault
 public class EffectData extends TierData<ItemEffect> {
+    public static final TierKeyIndex<ItemEffect> keyIndex = new TierKeyIndex<>();
+
+    public EffectData() {
+        super(keyIndex);
+    }
+
+    @Override
+    public EffectData freeze() {
+        super.freeze();
+        return this;
+    }
 
     public static EffectData overwrite(EffectData a, EffectData b) {
         if (a == null) {
@@ -22,16 +30,29 @@ public class EffectData extends TierData<ItemEffect> {
         }
 
         EffectData result = new EffectData();
-        result.levelMap.putAll(a.levelMap);
-        result.efficiencyMap.putAll(a.efficiencyMap);
-        b.levelMap.forEach(result.levelMap::put);
-        b.efficiencyMap.forEach(result.efficiencyMap::put);
+        result.copyFrom(a);
+        result.copyFrom(b);
 
         return result;
     }
 
+    /**
+     * Merges all given data into a single new instance, null entries are ignored. Returns null if there is no data to merge.
+     */
     public static EffectData merge(Collection<EffectData> data) {
-        return data.stream().reduce(null, EffectData::merge);
+        EffectData result = null;
+        for (EffectData entry : data) {
+            if (entry != null) {
+                if (result == null) {
+                    result = new EffectData();
+                    result.copyFrom(entry);
+                } else {
+                    result.accumulate(entry);
+                }
+            }
+        }
+
+        return result;
     }
 
     public static EffectData merge(EffectData a, EffectData b) {
@@ -42,16 +63,8 @@ public class EffectData extends TierData<ItemEffect> {
         }
 
         EffectData result = new EffectData();
-        result.levelMap = Stream.of(a, b)
-                .map(toolData -> toolData.levelMap)
-                .map(Map::entrySet)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Float::sum));
-        result.efficiencyMap = Stream.of(a, b)
-                .map(toolData -> toolData.efficiencyMap)
-                .map(Map::entrySet)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Float::sum));
+        result.copyFrom(a);
+        result.accumulate(b);
 
         return result;
     }
@@ -60,10 +73,8 @@ public class EffectData extends TierData<ItemEffect> {
         return Optional.ofNullable(effectData)
                 .map(data -> {
                     EffectData result = new EffectData();
-                    result.levelMap = data.levelMap.entrySet().stream()
-                            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue() * levelMultiplier));
-                    result.efficiencyMap = data.efficiencyMap.entrySet().stream()
-                            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue() * efficiencyMultiplier));
+                    result.copyFrom(data);
+                    result.scale(levelMultiplier, efficiencyMultiplier, 0);
                     return result;
                 })
                 .orElse(null);
@@ -83,11 +94,11 @@ public class EffectData extends TierData<ItemEffect> {
                 if (entryValue.isJsonArray()) {
                     JsonArray entryArray = entryValue.getAsJsonArray();
                     if (entryArray.size() == 2) {
-                        data.levelMap.put(effect, entryArray.get(0).getAsFloat());
-                        data.efficiencyMap.put(effect, entryArray.get(1).getAsFloat());
+                        data.setLevel(effect, entryArray.get(0).getAsFloat());
+                        data.setEfficiency(effect, entryArray.get(1).getAsFloat());
                     }
                 } else {
-                    data.levelMap.put(effect, entryValue.getAsFloat());
+                    data.setLevel(effect, entryValue.getAsFloat());
                 }
             });
 
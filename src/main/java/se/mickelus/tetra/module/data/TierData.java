@@ -1,46 +1,191 @@
 package se.mickelus.tetra.module.data;
 
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.function.BiConsumer;
 
+/**
+ * Levels & efficiencies per key, stored densely in float arrays indexed by a {@link TierKeyIndex} that is shared by all data of the same kind.
+ * Data gathered from modules is typically cached and shared, such instances are frozen and will throw if modified.
+ *
+ * @param <T> The type of the keys, e.g. effects or tools
+ */
 @ParametersAreNonnullByDefault
 public class TierData<T> {
+    private static final float[] empty = new float[0];
 
-    public Map<T, Float> levelMap;
-    public Map<T, Float> efficiencyMap;
+    private final TierKeyIndex<T> keyIndex;
 
-    public TierData() {
-        levelMap = new HashMap<>();
-        efficiencyMap = new HashMap<>();
+    private float[] levels = empty;
+    private float[] efficiencies = empty;
+
+    // tracks which keys have a level/efficiency, as keys may be present with a value of 0
+    private BitSet levelKeys = new BitSet();
+    private BitSet efficiencyKeys = new BitSet();
+
+    private boolean frozen = false;
+    private Set<T> frozenValues;
+    private Map<T, Integer> frozenLevelMap;
+
+    protected TierData(TierKeyIndex<T> keyIndex) {
+        this.keyIndex = keyIndex;
     }
 
     public boolean contains(T key) {
-        return levelMap.containsKey(key);
+        int index = keyIndex.findIndex(key);
+        return index != -1 && levelKeys.get(index);
     }
 
     public int getLevel(T key) {
-        if (contains(key)) {
-            return Math.round(levelMap.get(key));
+        return Math.round(getLevelRaw(key));
+    }
+
+    /**
+     * @return the unrounded level for the given key, or 0 if there is no level for the key
+     */
+    public float getLevelRaw(T key) {
+        int index = keyIndex.findIndex(key);
+        if (index != -1 && index < levels.length) {
+            return levels[index];
         }
         return 0;
     }
 
     public Map<T, Integer> getLevelMap() {
-        return levelMap.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, e -> Math.round(e.getValue())));
+        if (frozenLevelMap != null) {
+            return frozenLevelMap;
+        }
+
+        Map<T, Integer> result = new HashMap<>();
+        forEachLevel((key, level) -> result.put(key, Math.round(level)));
+
+        if (frozen) {
+            frozenLevelMap = Collections.unmodifiableMap(result);
+            return frozenLevelMap;
+        }
+        return result;
     }
 
     public float getEfficiency(T key) {
-        if (efficiencyMap.containsKey(key)) {
-            return efficiencyMap.get(key);
+        int index = keyIndex.findIndex(key);
+        if (index != -1 && index < efficiencies.length) {
+            return efficiencies[index];
         }
         return 0;
     }
 
     public Set<T> getValues() {
-        return levelMap.keySet();
+        if (frozenValues != null) {
+            return frozenValues;
+        }
+
+        Set<T> result = new HashSet<>();
+        levelKeys.stream().forEach(index -> result.add(keyIndex.getKey(index)));
+
+        if (frozen) {
+            frozenValues = Collections.unmodifiableSet(result);
+            return frozenValues;
+        }
+        return result;
+    }
+
+    public void forEachLevel(BiConsumer<T, Float> consumer) {
+        levelKeys.stream().forEach(index -> consumer.accept(keyIndex.getKey(index), levels[index]));
+    }
+
+    public void forEachEfficiency(BiConsumer<T, Float> consumer) {
+        efficiencyKeys.stream().forEach(index -> consumer.accept(keyIndex.getKey(index), efficiencies[index]));
+    }
+
+    public void setLevel(T key, float level) {
+        checkMutable();
+        int index = keyIndex.getIndex(key);
+        levels = ensureCapacity(levels, index);
+        levels[index] = level;
+        levelKeys.set(index);
+    }
+
+    public void setEfficiency(T key, float efficiency) {
+        checkMutable();
+        int index = keyIndex.getIndex(key);
+        efficiencies = ensureCapacity(efficiencies, index);
+        efficiencies[index] = efficiency;
+        efficiencyKeys.set(index);
+    }
+
+    /**
+     * Marks this data as read-only, used for data that is cached and shared between callers.
+     *
+     * @return this instance
+     */
+    public TierData<T> freeze() {
+        frozen = true;
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Attempted to modify frozen tier data");
+        }
+    }
+
+    private float[] ensureCapacity(float[] values, int index) {
+        if (index < values.length) {
+            return values;
+        }
+        return Arrays.copyOf(values, Math.max(index + 1, keyIndex.size()));
+    }
+
+    /**
+     * Copies all levels & efficiencies from the given data into this data, replacing values that are already present.
+     */
+    protected void copyFrom(TierData<T> other) {
+        checkMutable();
+        if (levelKeys.isEmpty() && efficiencyKeys.isEmpty()) {
+            levels = other.levels.clone();
+            efficiencies = other.efficiencies.clone();
+            levelKeys = (BitSet) other.levelKeys.clone();
+            efficiencyKeys = (BitSet) other.efficiencyKeys.clone();
+            return;
+        }
+
+        levels = ensureCapacity(levels, other.levels.length - 1);
+        efficiencies = ensureCapacity(efficiencies, other.efficiencies.length - 1);
+        other.levelKeys.stream().forEach(index -> levels[index] = other.levels[index]);
+        other.efficiencyKeys.stream().forEach(index -> efficiencies[index] = other.efficiencies[index]);
+        levelKeys.or(other.levelKeys);
+        efficiencyKeys.or(other.efficiencyKeys);
+    }
+
+    /**
+     * Adds the levels & efficiencies from the given data to the values of this data, in place.
+     */
+    protected void accumulate(TierData<T> other) {
+        checkMutable();
+        levels = ensureCapacity(levels, other.levels.length - 1);
+        efficiencies = ensureCapacity(efficiencies, other.efficiencies.length - 1);
+        for (int i = 0; i < other.levels.length; i++) {
+            levels[i] += other.levels[i];
+        }
+        for (int i = 0; i < other.efficiencies.length; i++) {
+            efficiencies[i] += other.efficiencies[i];
+        }
+        levelKeys.or(other.levelKeys);
+        efficiencyKeys.or(other.efficiencyKeys);
+    }
+
+    /**
+     * Multiplies all levels & efficiencies and offsets all levels, in place.
+     */
+    protected void scale(float levelMultiplier, float efficiencyMultiplier, float levelOffset) {
+        checkMutable();
+        levelKeys.stream().forEach(index -> levels[index] = levels[index] * levelMultiplier + levelOffset);
+        for (int i = 0; i < efficiencies.length; i++) {
+            efficiencies[i] *= efficiencyMultiplier;
+        }
     }
 }
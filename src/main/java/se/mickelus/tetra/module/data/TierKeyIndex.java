@@ -0,0 +1,58 @@
+package se.mickelus.tetra.module.data;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns a stable, dense index to each key used in tier data (effects, tools, aspects). Indices are handed out in the order keys are first
+ * seen and are never reused, they are only valid for the current session and must not be persisted.
+ *
+ * @param <T> The type of the keys
+ */
+@ParametersAreNonnullByDefault
+public class TierKeyIndex<T> {
+    private final Map<T, Integer> indices = new ConcurrentHashMap<>();
+    private volatile List<T> keys = new ArrayList<>();
+
+    public int getIndex(T key) {
+        Integer index = indices.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        return register(key);
+    }
+
+    /**
+     * Returns the index of the given key, without registering it if it does not already have one.
+     *
+     * @return the index of the key, or -1 if the key has not been indexed
+     */
+    public int findIndex(T key) {
+        return indices.getOrDefault(key, -1);
+    }
+
+    private synchronized int register(T key) {
+        Integer index = indices.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        List<T> updatedKeys = new ArrayList<>(keys);
+        updatedKeys.add(key);
+        keys = updatedKeys;
+        indices.put(key, updatedKeys.size() - 1);
+        return updatedKeys.size() - 1;
+    }
+
+    public T getKey(int index) {
+        return keys.get(index);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+}
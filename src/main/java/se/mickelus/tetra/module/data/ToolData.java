@@ -9,13 +9,22 @@ import se.mickelus.tetra.util.TierHelper;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.lang.reflect.Type;
 import java.util.Collection;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @ParametersAreNonnullByDefault
 public class ToolData extends TierData<ToolAction> {
+    public static final TierKeyIndex<ToolAction> keyIndex = new TierKeyIndex<>();
+
+    public ToolData() {
+        super(keyIndex);
+    }
+
+    @Override
+    public ToolData freeze() {
+        super.freeze();
+        return this;
+    }
+
     public static ToolData overwrite(ToolData a, ToolData b) {
         if (a == null) {
             return b;
@@ -24,16 +33,29 @@ public class ToolData extends TierData<ToolAction> {
         }
 
         ToolData result = new ToolData();
-        result.levelMap.putAll(a.levelMap);
-        result.efficiencyMap.putAll(a.efficiencyMap);
-        b.levelMap.forEach(result.levelMap::put);
-        b.efficiencyMap.forEach(result.efficiencyMap::put);
+        result.copyFrom(a);
+        result.copyFrom(b);
 
         return result;
     }
 
+    /**
+     * Merges all given data into a single new instance, null entries are ignored. Returns null if there is no data to merge.
+     */
     public static ToolData merge(Collection<ToolData> data) {
-        return data.stream().reduce(null, ToolData::merge);
+        ToolData result = null;
+        for (ToolData entry : data) {
+            if (entry != null) {
+                if (result == null) {
+                    result = new ToolData();
+                    result.copyFrom(entry);
+                } else {
+                    result.accumulate(entry);
+                }
+            }
+        }
+
+        return result;
     }
 
     public static ToolData merge(ToolData a, ToolData b) {
@@ -44,16 +66,8 @@ public class ToolData extends TierData<ToolAction> {
         }
 
         ToolData result = new ToolData();
-        result.levelMap = Stream.of(a, b)
-                .map(toolData -> toolData.levelMap)
-                .map(Map::entrySet)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Float::sum));
-        result.efficiencyMap = Stream.of(a, b)
-                .map(toolData -> toolData.efficiencyMap)
-                .map(Map::entrySet)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Float::sum));
+        result.copyFrom(a);
+        result.accumulate(b);
 
         return result;
     }
@@ -62,10 +76,8 @@ public class ToolData extends TierData<ToolAction> {
         return Optional.ofNullable(toolData)
                 .map(data -> {
                     ToolData result = new ToolData();
-                    result.levelMap = data.levelMap.entrySet().stream()
-                            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue() * levelMultiplier));
-                    result.efficiencyMap = data.efficiencyMap.entrySet().stream()
-                            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue() * efficiencyMultiplier));
+                    result.copyFrom(data);
+                    result.scale(levelMultiplier, efficiencyMultiplier, 0);
                     return result;
                 })
                 .orElse(null);
@@ -75,9 +87,8 @@ public class ToolData extends TierData<ToolAction> {
         return Optional.ofNullable(toolData)
                 .map(data -> {
                     ToolData result = new ToolData();
-                    result.levelMap = data.levelMap.entrySet().stream()
-                            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue() * multiplier + offset));
-                    result.efficiencyMap = data.efficiencyMap;
+                    result.copyFrom(data);
+                    result.scale(multiplier, 1, offset);
                     return result;
                 })
                 .orElse(null);
@@ -87,14 +98,14 @@ public class ToolData extends TierData<ToolAction> {
         ToolData result = new ToolData();
 
         dataCollection.forEach(data -> data.getValues().forEach(tool -> {
-            float newLevel = data.levelMap.getOrDefault(tool, 0f);
-            float currentLevel = result.levelMap.getOrDefault(tool, 0f);
-            if (newLevel >= result.levelMap.getOrDefault(tool, 0f)) {
-                result.levelMap.put(tool, newLevel);
+            float newLevel = data.getLevelRaw(tool);
+            float currentLevel = result.getLevelRaw(tool);
+            if (newLevel >= currentLevel) {
+                result.setLevel(tool, newLevel);
                 if (currentLevel < newLevel) {
-                    result.efficiencyMap.put(tool, data.getEfficiency(tool));
+                    result.setEfficiency(tool, data.getEfficiency(tool));
                 } else if (data.getEfficiency(tool) > result.getEfficiency(tool)) {
-                    result.efficiencyMap.put(tool, data.getEfficiency(tool));
+                    result.setEfficiency(tool, data.getEfficiency(tool));
                 }
             }
         }));
@@ -103,7 +114,7 @@ public class ToolData extends TierData<ToolAction> {
 //        datas.forEach(data -> data.getValues().forEach(tool -> {
 //            float efficiency = data.getEfficiency(tool);
 //            if (data.getLevel(tool) == 0 && efficiency > 0) {
-//                result.efficiencyMap.put(tool, result.getEfficiency(tool) + efficiency);
+//                result.setEfficiency(tool, result.getEfficiency(tool) + efficiency);
 //            }
 //        }));
 
@@ -133,11 +144,11 @@ public class ToolData extends TierData<ToolAction> {
                 if (entryValue.isJsonArray()) {
                     JsonArray entryArray = entryValue.getAsJsonArray();
                     if (entryArray.size() == 2) {
-                        data.levelMap.put(toolAction, getLevel(entryArray.get(0)));
-                        data.efficiencyMap.put(toolAction, entryArray.get(1).getAsFloat());
+                        data.setLevel(toolAction, getLevel(entryArray.get(0)));
+                        data.setEfficiency(toolAction, entryArray.get(1).getAsFloat());
                     }
                 } else {
-                    data.levelMap.put(toolAction, getLevel(entryValue));
+                    data.setLevel(toolAction, getLevel(entryValue));
                 }
             });
 
@@ -60,6 +60,11 @@ public abstract class BasicSchematic extends BaseSchematic {
         return module.getSlot().equals(slot);
     }
 
+    @Override
+    public String[] getSlots() {
+        return new String[]{module.getSlot()};
+    }
+
     protected ItemModule removePreviousModule(final ItemStack itemStack) {
         IModularItem item = (IModularItem) itemStack.getItem();
         ItemModule previousModule = item.getModuleFromSlot(itemStack, module.getSlot());
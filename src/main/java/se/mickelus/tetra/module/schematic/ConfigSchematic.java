@@ -1,5 +1,10 @@
 package se.mickelus.tetra.module.schematic;
 
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import net.minecraft.advancements.critereon.ItemPredicate;
 import net.minecraft.client.resources.language.I18n;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
@@ -23,9 +28,11 @@ import se.mickelus.tetra.module.data.VariantData;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 @ParametersAreNonnullByDefault
 public class ConfigSchematic extends BaseSchematic {
@@ -34,6 +41,12 @@ public class ConfigSchematic extends BaseSchematic {
     private static final String descriptionSuffix = ".description";
     private static final String slotSuffix = ".slot";
 
+    // memoized preview outcomes for bare items, keyed by schematic, item and slot
+    private static final Cache<String, PreviewOutcome[]> previewCache = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(5, TimeUnit.MINUTES)
+            .build();
+
     private final SchematicDefinition definition;
 
     private final String keySuffix;
@@ -73,6 +86,19 @@ public class ConfigSchematic extends BaseSchematic {
                 .reduce((a, b) -> b); // returns the last element, there's no findLast :c
     }
 
+    boolean hasMaterialReveal() {
+        return definition.materialRevealSlot > -1;
+    }
+
+    /**
+     * @return outcomes for the material slot that reveals this schematic, used to index which materials reveal which schematics
+     */
+    OutcomeDefinition[] getRevealOutcomes() {
+        return Arrays.stream(definition.outcomes)
+                .filter(outcome -> outcome.materialSlot == definition.materialRevealSlot)
+                .toArray(OutcomeDefinition[]::new);
+    }
+
     @Override
     public String getKey() {
         return definition.key + keySuffix;
@@ -173,26 +199,23 @@ public class ConfigSchematic extends BaseSchematic {
                 .anyMatch(s -> s.equals(slot));
     }
 
+    @Override
+    public String[] getSlots() {
+        if (moduleSlot != null) {
+            return new String[]{moduleSlot};
+        }
+
+        return definition.slots;
+    }
+
     @Override
     public boolean isVisibleForPlayer(Player player, @Nullable WorkbenchTile tile, ItemStack targetStack) {
         if (definition.locked) {
-            return Optional.ofNullable(tile)
-                    .map(WorkbenchTile::getUnlockedSchematics)
-                    .map(Arrays::stream)
-                    .orElseGet(Stream::empty)
-                    .anyMatch(rl -> definition.key.startsWith(rl.getPath()));
+            return tile != null && tile.isSchematicUnlocked(definition.key);
         }
 
         if (definition.materialRevealSlot > -1) {
-            for (int x = 0; x < 9; x++) {
-                for (int y = 0; y < 4; y++) {
-                    if (getOutcomeFromMaterial(player.getInventory().getItem(y * 9 + x), definition.materialRevealSlot).isPresent()) {
-                        return true;
-                    }
-                }
-            }
-
-            return false;
+            return MaterialRevealIndex.isRevealed(player, this);
         }
 
         return true;
@@ -203,6 +226,14 @@ public class ConfigSchematic extends BaseSchematic {
         return definition.hone;
     }
 
+    /**
+     * @return true if the requirement only matches against modules, variants & improvements, false if it's an arbitrary item predicate
+     * which may match against durability or other tags
+     */
+    public boolean hasModularRequirement() {
+        return definition.requirement == ItemPredicate.ANY || definition.requirement instanceof ItemPredicateModular;
+    }
+
     @Override
     public Map<ToolAction, Integer> getRequiredToolLevels(ItemStack targetStack, ItemStack[] materials) {
         if (definition.materialSlotCount > 0) {
@@ -382,33 +413,56 @@ public class ConfigSchematic extends BaseSchematic {
         return definition.glyph;
     }
 
+    /**
+     * Previews for bare items (e.g. when browsing schematics in the holosphere) only depend on the type of the item, the outcomes & preview
+     * stacks for those are memoized per schematic, item and slot until schematics or modules are reloaded. Each call still returns new
+     * previews, with names resolved on each call and copies of the memoized stacks. Preview stacks are built lazily from a copy of the
+     * target, as most previews are only listed and never have their stack rendered or sorted on.
+     */
     @Override
     public OutcomePreview[] getPreviews(ItemStack targetStack, String slot) {
+        if (targetStack.hasTag()) {
+            return Arrays.stream(createPreviewOutcomes(targetStack.copy(), slot))
+                    .map(outcome -> outcome.toPreview(false))
+                    .toArray(OutcomePreview[]::new);
+        }
+
+        String cacheKey = getKey() + ":" + targetStack.getItem().getRegistryName() + ":" + targetStack.getCount() + ":" + slot;
+        PreviewOutcome[] outcomes;
+        try {
+            outcomes = previewCache.get(cacheKey, () -> createPreviewOutcomes(targetStack.copy(), slot));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            outcomes = createPreviewOutcomes(targetStack.copy(), slot);
+        }
+
+        return Arrays.stream(outcomes)
+                .map(outcome -> outcome.toPreview(true))
+                .toArray(OutcomePreview[]::new);
+    }
+
+    public static void clearPreviewCache() {
+        previewCache.invalidateAll();
+    }
+
+    private PreviewOutcome[] createPreviewOutcomes(ItemStack targetStack, String slot) {
         return Arrays.stream(definition.outcomes)
                 .filter(outcome -> !outcome.hidden)
                 .map(outcome -> {
-                    ItemStack itemStack = targetStack.copy();
-
                     String key = null;
-                    String name = "";
                     String category = "misc";
                     int level = -1;
                     GlyphData glyph;
 
-                    applyOutcome(outcome, itemStack, false, slot, null);
-
                     if (outcome.moduleKey != null) {
                         VariantData variant = ItemUpgradeRegistry.instance.getModule(getModuleKey(outcome)).getVariantData(outcome.moduleVariant);
 
                         key = outcome.moduleVariant;
-                        name = getVariantName(outcome, itemStack);
                         glyph = variant.glyph;
                         category = variant.category;
                     } else {
                         if (outcome.improvements.size() == 1) {
                             for (Map.Entry<String, Integer> entry : outcome.improvements.entrySet()) {
                                 key = entry.getKey();
-                                name = IModularItem.getImprovementName(key, entry.getValue());
                                 level = entry.getValue();
                             }
                             glyph = definition.glyph;
@@ -420,17 +474,59 @@ public class ConfigSchematic extends BaseSchematic {
                         }
                     }
 
-                    return new OutcomePreview(outcome.moduleKey, key, name, category, level, glyph, itemStack, definition.displayType, outcome.requiredTools,
-                            outcome.material.getApplicableItemStacks());
+                    return new PreviewOutcome(outcome, key, category, level, glyph,
+                            Suppliers.memoize(() -> createPreviewStack(outcome, targetStack, slot)));
                 })
-                .filter(Filter.distinct(preview -> preview.variantKey))
-                .toArray(OutcomePreview[]::new);
+                .filter(Objects::nonNull)
+                .filter(Filter.distinct(outcome -> outcome.key))
+                .toArray(PreviewOutcome[]::new);
+    }
+
+    private ItemStack createPreviewStack(OutcomeDefinition outcome, ItemStack targetStack, String slot) {
+        ItemStack itemStack = targetStack.copy();
+        applyOutcome(outcome, itemStack, false, slot, null);
+        IModularItem.updatePreviewIdentifier(itemStack);
+        return itemStack;
     }
 
-    private String getVariantName(OutcomeDefinition outcome, ItemStack itemStack) {
-        return Optional.ofNullable(getModuleKey(outcome))
-                .map(ItemUpgradeRegistry.instance::getModule)
-                .map(module -> module.getName(itemStack))
-                .orElse("");
+    /**
+     * Metadata and a lazily built preview stack for an outcome, {@link OutcomePreview}s are created from this as they're mutable and
+     * hold client side names.
+     */
+    private class PreviewOutcome {
+        private final OutcomeDefinition outcome;
+        private final String key;
+        private final String category;
+        private final int level;
+        private final GlyphData glyph;
+        private final Supplier<ItemStack> itemStack;
+
+        PreviewOutcome(OutcomeDefinition outcome, String key, String category, int level, GlyphData glyph, Supplier<ItemStack> itemStack) {
+            this.outcome = outcome;
+            this.key = key;
+            this.category = category;
+            this.level = level;
+            this.glyph = glyph;
+            this.itemStack = itemStack;
+        }
+
+        private String getName() {
+            if (outcome.moduleKey != null) {
+                ItemModule module = ItemUpgradeRegistry.instance.getModule(getModuleKey(outcome));
+                return ItemModule.getName(module.getUnlocalizedName(), outcome.moduleVariant);
+            } else if (outcome.improvements.size() == 1) {
+                return IModularItem.getImprovementName(key, level);
+            }
+            return "";
+        }
+
+        /**
+         * @param copyStack true if the stack is shared with other previews, in which case each preview gets its own copy
+         */
+        OutcomePreview toPreview(boolean copyStack) {
+            Supplier<ItemStack> stackSupplier = copyStack ? () -> itemStack.get().copy() : itemStack;
+            return new OutcomePreview(outcome.moduleKey, key, getName(), category, level, glyph, stackSupplier, definition.displayType,
+                    outcome.requiredTools, outcome.material.getApplicableItemStacks());
+        }
     }
 }
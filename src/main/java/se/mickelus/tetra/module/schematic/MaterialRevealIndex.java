@@ -0,0 +1,148 @@
+package se.mickelus.tetra.module.schematic;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.minecraft.advancements.critereon.ItemPredicate;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reverse index from materials to the schematics they reveal, for schematics that are only visible when the player carries a material that
+ * matches one of the outcomes in the reveal slot. Lets visibility for all such schematics be resolved in a single pass over the inventory
+ * of a player. Materials defined by a list of items or by a tag are looked up by item or tag, materials with other kinds of predicates are
+ * tested against every carried item. Matches found through the index are always verified against the predicate of the material.
+ */
+@ParametersAreNonnullByDefault
+public class MaterialRevealIndex {
+    private static final Cache<Player, Revealed> revealed = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    private static MaterialRevealIndex instance = new MaterialRevealIndex(Collections.emptyList());
+
+    private final Map<Item, List<Entry>> itemIndex = new HashMap<>();
+    private final Map<ResourceLocation, List<Entry>> tagIndex = new HashMap<>();
+    private final List<Entry> unindexed = new ArrayList<>();
+
+    private MaterialRevealIndex(Collection<ConfigSchematic> schematics) {
+        for (ConfigSchematic schematic : schematics) {
+            for (OutcomeDefinition outcome : schematic.getRevealOutcomes()) {
+                ItemPredicate predicate = outcome.material.getPredicate();
+                if (predicate == null) {
+                    continue;
+                }
+
+                Entry entry = new Entry(schematic, predicate);
+
+                // only exact vanilla predicates are guaranteed to require the listed items or tag, other predicate types may match anything
+                if (predicate.getClass() == ItemPredicate.class && !outcome.material.itemStacks.isEmpty()) {
+                    outcome.material.itemStacks.stream()
+                            .map(ItemStack::getItem)
+                            .distinct()
+                            .forEach(item -> itemIndex.computeIfAbsent(item, key -> new ArrayList<>()).add(entry));
+                } else if (predicate.getClass() == ItemPredicate.class && outcome.material.tagLocation != null) {
+                    tagIndex.computeIfAbsent(outcome.material.tagLocation, key -> new ArrayList<>()).add(entry);
+                } else {
+                    unindexed.add(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the index from the given schematics, should be called whenever schematics are reloaded.
+     */
+    public static void rebuild(UpgradeSchematic[] schematics) {
+        instance = new MaterialRevealIndex(Arrays.stream(schematics)
+                .filter(schematic -> schematic instanceof ConfigSchematic)
+                .map(schematic -> (ConfigSchematic) schematic)
+                .filter(ConfigSchematic::hasMaterialReveal)
+                .collect(Collectors.toList()));
+        revealed.invalidateAll();
+    }
+
+    /**
+     * Checks if the given schematic is revealed by a material in the main inventory of the given player. The set of revealed schematics is
+     * computed at most once per tick, or when the inventory of the player reports that it has changed.
+     */
+    public static boolean isRevealed(Player player, ConfigSchematic schematic) {
+        return revealed.asMap().computeIfAbsent(player, p -> new Revealed()).get(player, instance).contains(schematic);
+    }
+
+    private Set<ConfigSchematic> gatherRevealed(Inventory inventory) {
+        Set<ConfigSchematic> result = new HashSet<>();
+        Map<Item, List<Entry>> taggedEntries = new HashMap<>();
+        for (int i = 0; i < 36; i++) {
+            ItemStack itemStack = inventory.getItem(i);
+            if (itemStack.isEmpty()) {
+                continue;
+            }
+
+            // predicates may check nbt or damage so stacks are matched individually, only the tag lookup is shared for stacks of the same item
+            Item item = itemStack.getItem();
+            match(result, itemIndex.get(item), itemStack);
+            match(result, taggedEntries.computeIfAbsent(item, this::getTaggedEntries), itemStack);
+            match(result, unindexed, itemStack);
+        }
+        return result;
+    }
+
+    private List<Entry> getTaggedEntries(Item item) {
+        List<Entry> result = new ArrayList<>();
+        tagIndex.forEach((tagLocation, entries) -> {
+            if (OutcomeMaterial.getTagCollection().getTagOrEmpty(tagLocation).contains(item)) {
+                result.addAll(entries);
+            }
+        });
+        return result;
+    }
+
+    private static void match(Set<ConfigSchematic> result, List<Entry> entries, ItemStack itemStack) {
+        if (entries == null) {
+            return;
+        }
+
+        for (Entry entry : entries) {
+            if (!result.contains(entry.schematic) && entry.predicate.matches(itemStack)) {
+                result.add(entry.schematic);
+            }
+        }
+    }
+
+    private static class Entry {
+        private final ConfigSchematic schematic;
+        private final ItemPredicate predicate;
+
+        private Entry(ConfigSchematic schematic, ItemPredicate predicate) {
+            this.schematic = schematic;
+            this.predicate = predicate;
+        }
+    }
+
+    private static class Revealed {
+        private MaterialRevealIndex index;
+        private long gameTime = Long.MIN_VALUE;
+        private int timesChanged = -1;
+        private Set<ConfigSchematic> schematics = Collections.emptySet();
+
+        private synchronized Set<ConfigSchematic> get(Player player, MaterialRevealIndex currentIndex) {
+            Inventory inventory = player.getInventory();
+            long currentTime = player.level.getGameTime();
+            if (index != currentIndex || gameTime != currentTime || timesChanged != inventory.getTimesChanged()) {
+                index = currentIndex;
+                gameTime = currentTime;
+                timesChanged = inventory.getTimesChanged();
+                schematics = currentIndex.gatherRevealed(inventory);
+            }
+
+            return schematics;
+        }
+    }
+}
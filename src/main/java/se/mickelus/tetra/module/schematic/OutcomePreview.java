@@ -9,6 +9,7 @@ import se.mickelus.tetra.module.data.ToolData;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 @ParametersAreNonnullByDefault
 public class OutcomePreview {
@@ -18,7 +19,10 @@ public class OutcomePreview {
     public String category;
     public int level;
     public GlyphData glyph;
-    public ItemStack itemStack;
+
+    // the preview stack is only built when it's first needed, previews are often listed without their stack ever being looked at
+    private Supplier<ItemStack> itemStackSupplier;
+    private ItemStack itemStack;
 
     public SchematicType type;
 
@@ -27,18 +31,31 @@ public class OutcomePreview {
 
     public OutcomePreview(String moduleKey, String variantKey, String variantName, String category, int level, GlyphData glyph, ItemStack itemStack,
             SchematicType type, ToolData tools, ItemStack[] materials) {
+        this(moduleKey, variantKey, variantName, category, level, glyph, () -> itemStack, type, tools, materials);
+    }
+
+    public OutcomePreview(String moduleKey, String variantKey, String variantName, String category, int level, GlyphData glyph,
+            Supplier<ItemStack> itemStackSupplier, SchematicType type, ToolData tools, ItemStack[] materials) {
         this.moduleKey = moduleKey;
         this.variantKey = variantKey;
         this.variantName = variantName;
         this.category = category;
         this.level = level;
         this.glyph = glyph;
-        this.itemStack = itemStack;
+        this.itemStackSupplier = itemStackSupplier;
         this.type = type;
         this.tools = tools;
         this.materials = materials;
     }
 
+    public ItemStack getItemStack() {
+        if (itemStack == null) {
+            itemStack = itemStackSupplier.get();
+            itemStackSupplier = null;
+        }
+        return itemStack;
+    }
+
     public boolean isApplied(ItemStack itemStack, String slot) {
         if (moduleKey != null) {
             // todo: implement for modules
@@ -54,7 +71,7 @@ public class OutcomePreview {
 
     @Override
     public OutcomePreview clone() {
-        return new OutcomePreview(moduleKey, variantKey, variantName, category, level, glyph, itemStack.copy(), type, tools, materials);
+        return new OutcomePreview(moduleKey, variantKey, variantName, category, level, glyph, getItemStack().copy(), type, tools, materials);
     }
 
     @Override
@@ -92,6 +92,11 @@ public class RemoveSchematic extends BaseSchematic {
         return this.slot.equals(slot) && item.getModuleFromSlot(targetStack, this.slot) != null;
     }
 
+    @Override
+    public String[] getSlots() {
+        return new String[]{slot};
+    }
+
     @Override
     public boolean canApplyUpgrade(Player player, ItemStack itemStack, ItemStack[] materials, String slot, Map<ToolAction, Integer> availableTools) {
         return !isIntegrityViolation(player, itemStack, materials, slot)
@@ -89,6 +89,17 @@ public interface UpgradeSchematic {
      */
     boolean isApplicableForSlot(String slot, ItemStack itemStack);
 
+    /**
+     * Used to index schematics by slot, schematics that can only be applicable for a known set of slots should return those here. Returning
+     * null means that the schematic may be applicable for any slot (or for no slot at all) and it will be checked for all slots.
+     *
+     * @return the slots this schematic may apply to, or null if that is not known
+     */
+    @Nullable
+    default String[] getSlots() {
+        return null;
+    }
+
     /**
      * This is a final check if the player should be able to see the schematic in schematic listings, based on the player or its surroundings.
      *
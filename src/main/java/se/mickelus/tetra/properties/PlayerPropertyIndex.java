@@ -0,0 +1,223 @@
+package se.mickelus.tetra.properties;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.common.ToolAction;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import se.mickelus.tetra.data.DataManager;
+import se.mickelus.tetra.effect.ItemEffect;
+import se.mickelus.tetra.items.modular.IModularItem;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+
+/**
+ * Keeps track of the tools and effects provided by the items in the offhand & main inventory of a player, so that the max tool level or
+ * effect level the player carries can be looked up without going through the inventory. Slots are compared against what was indexed at
+ * most once per tick, or when the inventory reports that it has changed, and only slots that differ are re-evaluated.
+ */
+@ParametersAreNonnullByDefault
+public class PlayerPropertyIndex {
+    private static final Cache<Player, PlayerPropertyIndex> indices = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    private long gameTime = Long.MIN_VALUE;
+    private int timesChanged = -1;
+
+    private SlotEntry[] slots = new SlotEntry[0];
+
+    private Map<ToolAction, Integer> toolLevels = Collections.emptyMap();
+    private Map<ItemEffect, Integer> effectLevels = Collections.emptyMap();
+    private Map<ItemEffect, Double> effectEfficiencies = Collections.emptyMap();
+
+    // indices must not reference their player, that would keep the weak keys from ever being collected
+    private PlayerPropertyIndex() {
+    }
+
+    public static void init() {
+        DataManager.instance.moduleData.onReload(PlayerPropertyIndex::clear);
+        DataManager.instance.synergyData.onReload(PlayerPropertyIndex::clear);
+        DataManager.instance.replacementData.onReload(PlayerPropertyIndex::clear);
+    }
+
+    /**
+     * Tools & effects of indexed slots may depend on module, replacement and tag data, so indices are dropped whenever that data changes.
+     */
+    public static void clear() {
+        indices.invalidateAll();
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        clear();
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        indices.invalidate(event.getPlayer());
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        indices.asMap().keySet().removeIf(player -> player.level == event.getWorld());
+    }
+
+    public static PlayerPropertyIndex get(Player player) {
+        PlayerPropertyIndex index = indices.asMap().computeIfAbsent(player, key -> new PlayerPropertyIndex());
+        index.refresh(player);
+        return index;
+    }
+
+    private void refresh(Player player) {
+        Inventory inventory = player.getInventory();
+        long currentTime = player.level.getGameTime();
+        if (currentTime == gameTime && inventory.getTimesChanged() == timesChanged) {
+            return;
+        }
+
+        gameTime = currentTime;
+        timesChanged = inventory.getTimesChanged();
+
+        int offhandSize = inventory.offhand.size();
+        int size = offhandSize + inventory.items.size();
+        if (slots.length != size) {
+            slots = new SlotEntry[size];
+        }
+
+        boolean changed = false;
+        for (int i = 0; i < size; i++) {
+            ItemStack itemStack = i < offhandSize ? inventory.offhand.get(i) : inventory.items.get(i - offhandSize);
+            if (slots[i] == null || !slots[i].matches(itemStack)) {
+                slots[i] = new SlotEntry(itemStack);
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            aggregate();
+        }
+    }
+
+    private void aggregate() {
+        Map<ToolAction, Integer> tools = new HashMap<>();
+        Map<ItemEffect, Integer> effects = new HashMap<>();
+        Map<ItemEffect, Double> efficiencies = new HashMap<>();
+
+        for (SlotEntry slot : slots) {
+            slot.toolLevels.forEach((tool, level) -> tools.merge(tool, level, Math::max));
+            slot.effectLevels.forEach((effect, level) -> {
+                Integer current = effects.get(effect);
+                if (current == null || level > current) {
+                    effects.put(effect, level);
+                    efficiencies.put(effect, slot.effectEfficiencies.get(effect));
+                }
+            });
+        }
+
+        toolLevels = Collections.unmodifiableMap(tools);
+        effectLevels = effects;
+        effectEfficiencies = efficiencies;
+    }
+
+    public int getToolLevel(ToolAction tool) {
+        return toolLevels.getOrDefault(tool, 0);
+    }
+
+    public Map<ToolAction, Integer> getToolLevels() {
+        return toolLevels;
+    }
+
+    public Set<ToolAction> getTools() {
+        return toolLevels.keySet();
+    }
+
+    public int getEffectLevel(ItemEffect effect) {
+        return effectLevels.getOrDefault(effect, 0);
+    }
+
+    /**
+     * @return the efficiency of the effect for the item providing the highest level of the effect
+     */
+    public double getEffectEfficiency(ItemEffect effect) {
+        return effectEfficiencies.getOrDefault(effect, 0d);
+    }
+
+    private static class SlotEntry {
+        private final ItemStack itemStack;
+        private final boolean isEmpty;
+        private final int damage;
+        @Nullable
+        private final CompoundTag tag;
+        @Nullable
+        private final String identifier;
+
+        private final Map<ToolAction, Integer> toolLevels;
+        private final Map<ItemEffect, Integer> effectLevels;
+        private final Map<ItemEffect, Double> effectEfficiencies;
+
+        SlotEntry(ItemStack itemStack) {
+            this.itemStack = itemStack;
+            isEmpty = itemStack.isEmpty();
+            damage = itemStack.getDamageValue();
+            tag = itemStack.getTag();
+            identifier = getIdentifier(itemStack);
+
+            if (isEmpty) {
+                toolLevels = Collections.emptyMap();
+                effectLevels = Collections.emptyMap();
+                effectEfficiencies = Collections.emptyMap();
+                return;
+            }
+
+            ItemStack providingStack = PropertyHelper.getReplacement(itemStack);
+
+            if (providingStack.getItem() instanceof IToolProvider) {
+                toolLevels = ((IToolProvider) providingStack.getItem()).getToolLevels(providingStack);
+            } else {
+                toolLevels = Collections.emptyMap();
+            }
+
+            if (providingStack.getItem() instanceof IModularItem) {
+                IModularItem item = (IModularItem) providingStack.getItem();
+                effectLevels = new HashMap<>();
+                effectEfficiencies = new HashMap<>();
+                for (ItemEffect effect : item.getEffects(providingStack)) {
+                    effectLevels.put(effect, item.getEffectLevel(providingStack, effect));
+                    effectEfficiencies.put(effect, item.getEffectEfficiency(providingStack, effect));
+                }
+            } else {
+                effectLevels = Collections.emptyMap();
+                effectEfficiencies = Collections.emptyMap();
+            }
+        }
+
+        @Nullable
+        private static String getIdentifier(ItemStack itemStack) {
+            if (itemStack.getItem() instanceof IModularItem && itemStack.getTag() != null) {
+                return itemStack.getTag().getString(IModularItem.identifierKey);
+            }
+            return null;
+        }
+
+        /**
+         * Modular items get a new identifier when their modules change, so comparing identifiers catches stacks that have been modified in
+         * place. Changes in damage are picked up as items may break or be repaired.
+         */
+        boolean matches(ItemStack itemStack) {
+            return this.itemStack == itemStack
+                    && isEmpty == itemStack.isEmpty()
+                    && damage == itemStack.getDamageValue()
+                    && tag == itemStack.getTag()
+                    && Objects.equals(identifier, getIdentifier(itemStack));
+        }
+    }
+}
@@ -13,10 +13,10 @@ import se.mickelus.mutil.util.CastOptional;
 import se.mickelus.mutil.util.InventoryStream;
 import se.mickelus.tetra.blocks.ITetraBlock;
 import se.mickelus.tetra.effect.ItemEffect;
-import se.mickelus.tetra.items.modular.IModularItem;
 import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltHelper;
 import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.QuickslotInventory;
 import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.StorageInventory;
+import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.ToolbeltInventories;
 import se.mickelus.tetra.module.ItemUpgradeRegistry;
 
 import javax.annotation.Nullable;
@@ -48,53 +48,23 @@ public class PropertyHelper {
     }
 
     public static int getPlayerEffectLevel(Player player, ItemEffect effect) {
-        return Stream.concat(player.getInventory().offhand.stream(), player.getInventory().items.stream())
-                .filter(itemStack -> !itemStack.isEmpty())
-                .map(PropertyHelper::getReplacement)
-                .filter(itemStack -> itemStack.getItem() instanceof IModularItem)
-                .map(itemStack -> ((IModularItem) itemStack.getItem()).getEffectLevel(itemStack, effect))
-                .max(Integer::compare)
-                .orElse(0);
+        return PlayerPropertyIndex.get(player).getEffectLevel(effect);
     }
 
     public static double getPlayerEffectEfficiency(Player player, ItemEffect effect) {
-        return Stream.concat(player.getInventory().offhand.stream(), player.getInventory().items.stream())
-                .filter(itemStack -> !itemStack.isEmpty())
-                .map(PropertyHelper::getReplacement)
-                .filter(itemStack -> itemStack.getItem() instanceof IModularItem)
-                .max(Comparator.comparingInt(itemStack -> ((IModularItem) itemStack.getItem()).getEffectLevel(itemStack, effect)))
-                .map(itemStack -> ((IModularItem) itemStack.getItem()).getEffectEfficiency(itemStack, effect))
-                .orElse(0d);
+        return PlayerPropertyIndex.get(player).getEffectEfficiency(effect);
     }
 
     public static int getPlayerToolLevel(Player player, ToolAction tool) {
-        return Stream.concat(player.getInventory().offhand.stream(), player.getInventory().items.stream())
-                .filter(itemStack -> !itemStack.isEmpty())
-                .map(PropertyHelper::getReplacement)
-                .filter(itemStack -> itemStack.getItem() instanceof IToolProvider)
-                .map(itemStack -> ((IToolProvider) itemStack.getItem()).getToolLevel(itemStack, tool))
-                .max(Integer::compare)
-                .orElse(0);
+        return PlayerPropertyIndex.get(player).getToolLevel(tool);
     }
 
     public static Set<ToolAction> getPlayerTools(Player player) {
-        return Stream.concat(player.getInventory().offhand.stream(), player.getInventory().items.stream())
-                .filter(itemStack -> !itemStack.isEmpty())
-                .map(PropertyHelper::getReplacement)
-                .filter(itemStack -> itemStack.getItem() instanceof IToolProvider)
-                .flatMap(itemStack -> ((IToolProvider) itemStack.getItem()).getTools(itemStack).stream())
-                .collect(Collectors.toSet());
+        return PlayerPropertyIndex.get(player).getTools();
     }
 
     public static Map<ToolAction, Integer> getPlayerToolLevels(Player player) {
-        return Stream.concat(player.getInventory().offhand.stream(), player.getInventory().items.stream())
-                .filter(itemStack -> !itemStack.isEmpty())
-                .map(PropertyHelper::getReplacement)
-                .filter(itemStack -> itemStack.getItem() instanceof IToolProvider)
-                .map(itemStack -> ((IToolProvider) itemStack.getItem()).getToolLevels(itemStack))
-                .map(Map::entrySet)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Math::max));
+        return PlayerPropertyIndex.get(player).getToolLevels();
     }
 
     public static int getInventoryToolLevel(Container inventory, ToolAction tool) {
@@ -190,7 +160,7 @@ public class PropertyHelper {
         return null;
     }
 
-    private static ItemStack getReplacement(ItemStack itemStack) {
+    static ItemStack getReplacement(ItemStack itemStack) {
         ItemStack replacement = ItemUpgradeRegistry.instance.getReplacement(itemStack);
         if (!replacement.isEmpty()) {
             return replacement;
@@ -226,8 +196,8 @@ public class PropertyHelper {
         return Optional.of(ToolbeltHelper.findToolbelt(player))
                 .filter(toolbeltStack -> !toolbeltStack.isEmpty())
                 .map(toolbeltStack -> Math.max(
-                        getInventoryToolLevel(new QuickslotInventory(toolbeltStack), tool),
-                        getInventoryToolLevel(new StorageInventory(toolbeltStack), tool)))
+                        getInventoryToolLevel(ToolbeltInventories.getQuickslots(toolbeltStack), tool),
+                        getInventoryToolLevel(ToolbeltInventories.getStorage(toolbeltStack), tool)))
                 .orElse(0);
     }
 
@@ -235,8 +205,8 @@ public class PropertyHelper {
         return Optional.of(ToolbeltHelper.findToolbelt(player))
                 .filter(toolbeltStack -> !toolbeltStack.isEmpty())
                 .map(toolbeltStack -> (Set<ToolAction>) Sets.union(
-                        getInventoryTools(new QuickslotInventory(toolbeltStack)),
-                        getInventoryTools(new StorageInventory(toolbeltStack))))
+                        getInventoryTools(ToolbeltInventories.getQuickslots(toolbeltStack)),
+                        getInventoryTools(ToolbeltInventories.getStorage(toolbeltStack))))
                 .orElse(Collections.emptySet());
 
     }
@@ -245,8 +215,8 @@ public class PropertyHelper {
         return Optional.of(ToolbeltHelper.findToolbelt(player))
                 .filter(toolbeltStack -> !toolbeltStack.isEmpty())
                 .map(toolbeltStack -> Stream.of(
-                        getInventoryToolLevels(new QuickslotInventory(toolbeltStack)),
-                        getInventoryToolLevels(new StorageInventory(toolbeltStack))))
+                        getInventoryToolLevels(ToolbeltInventories.getQuickslots(toolbeltStack)),
+                        getInventoryToolLevels(ToolbeltInventories.getStorage(toolbeltStack))))
                 .orElseGet(Stream::empty)
                 .map(Map::entrySet)
                 .flatMap(Collection::stream)
@@ -259,14 +229,14 @@ public class PropertyHelper {
         return Optional.of(ToolbeltHelper.findToolbelt(player))
                 .filter(toolbeltStack -> !toolbeltStack.isEmpty())
                 .map(toolbeltStack -> {
-                    QuickslotInventory quickslotInventory = new QuickslotInventory(toolbeltStack);
+                    QuickslotInventory quickslotInventory = ToolbeltInventories.getQuickslots(toolbeltStack);
                     ItemStack result = consumeCraftToolInventory(quickslotInventory, player, targetStack, tool, level, consumeResources);
                     if (result != null) {
                         quickslotInventory.setChanged();
                         return result;
                     }
 
-                    StorageInventory storageInventory = new StorageInventory(toolbeltStack);
+                    StorageInventory storageInventory = ToolbeltInventories.getStorage(toolbeltStack);
                     result = consumeCraftToolInventory(quickslotInventory, player, targetStack, tool, level, consumeResources);
                     if (result != null) {
                         storageInventory.setChanged();
@@ -283,14 +253,14 @@ public class PropertyHelper {
         return Optional.of(ToolbeltHelper.findToolbelt(player))
                 .filter(toolbeltStack -> !toolbeltStack.isEmpty())
                 .map(toolbeltStack -> {
-                    QuickslotInventory quickslotInventory = new QuickslotInventory(toolbeltStack);
+                    QuickslotInventory quickslotInventory = ToolbeltInventories.getQuickslots(toolbeltStack);
                     ItemStack result = consumeActionToolInventory(quickslotInventory, player, targetStack, tool, level, consumeResources);
                     if (result != null) {
                         quickslotInventory.setChanged();
                         return result;
                     }
 
-                    StorageInventory storageInventory = new StorageInventory(toolbeltStack);
+                    StorageInventory storageInventory = ToolbeltInventories.getStorage(toolbeltStack);
                     result = consumeActionToolInventory(quickslotInventory, player, targetStack, tool, level, consumeResources);
                     if (result != null) {
                         storageInventory.setChanged();
@@ -307,13 +277,13 @@ public class PropertyHelper {
         return Optional.of(ToolbeltHelper.findToolbelt(player))
                 .filter(itemStack -> !itemStack.isEmpty())
                 .map(toolbeltStack -> {
-                    ItemStack itemStack = getInventoryProvidingItemStack(new QuickslotInventory(toolbeltStack), tool, level);
+                    ItemStack itemStack = getInventoryProvidingItemStack(ToolbeltInventories.getQuickslots(toolbeltStack), tool, level);
 
                     if (!itemStack.isEmpty()) {
                         return itemStack;
                     }
 
-                    return getInventoryProvidingItemStack(new StorageInventory(toolbeltStack), tool, level);
+                    return getInventoryProvidingItemStack(ToolbeltInventories.getStorage(toolbeltStack), tool, level);
                 })
                 .orElse(ItemStack.EMPTY);
     }
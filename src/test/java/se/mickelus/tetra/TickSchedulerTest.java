@@ -0,0 +1,90 @@
+package se.mickelus.tetra;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TickSchedulerTest {
+    private TickScheduler scheduler;
+    private List<Integer> ranAt;
+    private int tick;
+
+    @BeforeEach
+    public void setup() {
+        scheduler = new TickScheduler();
+        ranAt = new ArrayList<>();
+        tick = 0;
+    }
+
+    private Runnable record() {
+        return () -> ranAt.add(tick);
+    }
+
+    private void advance(int ticks, int budget) {
+        for (int i = 0; i < ticks; i++) {
+            scheduler.tick(budget);
+            tick++;
+        }
+    }
+
+    @Test
+    public void runsTasksWithZeroDelayOnNextTick() {
+        scheduler.schedule(null, 0, record());
+        advance(5, 0);
+
+        assertEquals(List.of(1), ranAt);
+        assertEquals(1, scheduler.getExecutedCount());
+    }
+
+    @Test
+    public void runsTasksAfterTheirDelay() {
+        scheduler.schedule(null, 1, record());
+        scheduler.schedule(null, 10, record());
+        advance(20, 0);
+
+        assertEquals(List.of(2, 11), ranAt);
+    }
+
+    @Test
+    public void runsTasksDelayedBeyondTheWheel() {
+        scheduler.schedule(null, 100, record());
+        scheduler.schedule(null, 200, record());
+        advance(300, 0);
+
+        assertEquals(List.of(101, 201), ranAt);
+    }
+
+    @Test
+    public void runsTasksScheduledWhileTicking() {
+        scheduler.schedule(null, 0, () -> scheduler.schedule(null, 0, record()));
+        advance(5, 0);
+
+        assertEquals(List.of(2), ranAt);
+    }
+
+    @Test
+    public void replacesKeyedTasks() {
+        List<String> ran = new ArrayList<>();
+        scheduler.schedule("key", null, 2, () -> ran.add("first"));
+        scheduler.schedule("key", null, 2, () -> ran.add("second"));
+        advance(5, 0);
+
+        assertEquals(List.of("second"), ran);
+    }
+
+    @Test
+    public void pushesTasksOverBudgetToTheNextTick() {
+        for (int i = 0; i < 5; i++) {
+            scheduler.schedule(null, 0, record());
+        }
+        advance(5, 2);
+
+        assertEquals(List.of(1, 1, 2, 2, 3), ranAt);
+        assertEquals(5, scheduler.getExecutedCount());
+        assertEquals(4, scheduler.getOverrunCount());
+    }
+}